@@ -0,0 +1,78 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.prng.TRandomGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares {@link TRandomGenerator#nextInt(int, int)} and {@link TRandomGenerator#nextLong(long, long)}
+ * with the biased multiply-shift they used before and with {@link SplittableRandom}'s bounded methods.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoundedRandomBenchmarks {
+
+    // A small bound, a power of two and a bound that makes multiply-shift heavily biased
+    @Param({"26", "1024", "1610612736"})
+    public int bound;
+
+    private TRandomGenerator random;
+    private SplittableRandom splittableRandom;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        random = new SplitMix64Random();
+        splittableRandom = new SplittableRandom();
+    }
+
+
+    @Benchmark public int lemireNextInt() { return random.nextInt(0, bound); }
+    @Benchmark public int biasedNextInt() { return biasedNextInt(random, 0, bound); }
+    @Benchmark public int splittableNextInt() { return splittableRandom.nextInt(0, bound); }
+
+    @Benchmark public long lemireNextLong() { return random.nextLong(0L, bound * 3L); }
+    @Benchmark public long splittableNextLong() { return splittableRandom.nextLong(0L, bound * 3L); }
+
+
+    // The old default implementation of TRandomGenerator.nextInt(int, int)
+    private static int biasedNextInt(TRandomGenerator random, int rangeLeftInc, int rangeRightExc) {
+        final int rDiff = rangeRightExc - rangeLeftInc;
+        final int rLow = rDiff & 0xFFFF;
+        final int rHigh = (rDiff >>> 16);
+
+        final int x = random.nextInt();
+        final int xLow = x & 0xFFFF;
+        final int xHigh = (x >>> 16);
+
+        final int xtimesrange = xHigh * rHigh + (xHigh * rLow >>> 16) + (xLow * rHigh >>> 16);
+        return rangeLeftInc + xtimesrange;
+    }
+
+
+}
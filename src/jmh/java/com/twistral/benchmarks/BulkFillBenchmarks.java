@@ -0,0 +1,82 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.prng.TRandomGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+
+/** Compares {@link TRandomGenerator}'s bulk fill methods with filling the same arrays one call at a time. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BulkFillBenchmarks {
+
+    @Param({"1024", "1048576"})
+    public int size;
+
+    private TRandomGenerator random;
+    private long[] longs;
+    private double[] doubles;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        random = new SplitMix64Random();
+        longs = new long[size];
+        doubles = new double[size];
+    }
+
+
+    @Benchmark
+    public long[] fillLongs() {
+        random.fill(longs);
+        return longs;
+    }
+
+
+    @Benchmark
+    public long[] perCallLongs() {
+        final int len = longs.length;
+        for (int i = 0; i < len; i++) longs[i] = random.nextLong();
+        return longs;
+    }
+
+
+    @Benchmark
+    public double[] fillDoubles() {
+        random.fill(doubles);
+        return doubles;
+    }
+
+
+    @Benchmark
+    public double[] perCallDoubles() {
+        final int len = doubles.length;
+        for (int i = 0; i < len; i++) doubles[i] = random.nextDouble();
+        return doubles;
+    }
+
+
+}
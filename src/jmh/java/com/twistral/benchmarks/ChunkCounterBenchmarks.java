@@ -0,0 +1,95 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.fwg.ChunkCounter;
+import com.twistral.tephrium.fwg.ChunkifiedFWG;
+import com.twistral.tephrium.fwg.EnglishCorpus;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares {@link ChunkifiedFWG#freqFromBookContent(String)} with {@link ChunkCounter} on ~8MB of text,
+ * counted from a byte array, a memory-mapped file and a memory-mapped file split into regions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ChunkCounterBenchmarks {
+
+    private static final int WORD_COUNT = 1_000_000;
+
+    private String bookContent;
+    private byte[] bookBytes;
+    private Path bookFile;
+
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        SplitMix64Random rand = new SplitMix64Random(42L);
+        StringBuilder sb = new StringBuilder(WORD_COUNT * 9);
+        for (int i = 0; i < WORD_COUNT; i++) sb.append(EnglishCorpus.randomWord(rand)).append(' ');
+
+        bookContent = sb.toString();
+        bookBytes = bookContent.getBytes(StandardCharsets.US_ASCII);
+        bookFile = Files.createTempFile("tephrium-book", ".txt");
+        Files.write(bookFile, bookBytes);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(bookFile);
+    }
+
+
+    @Benchmark
+    public int[] freqFromBookContent() {
+        return ChunkifiedFWG.freqFromBookContent(bookContent);
+    }
+
+
+    @Benchmark
+    public int[] counterBytes() {
+        return new ChunkCounter().update(bookBytes, 0, bookBytes.length).getFrequencies();
+    }
+
+
+    @Benchmark
+    public int[] counterFile() throws IOException {
+        return new ChunkCounter().update(bookFile).getFrequencies();
+    }
+
+
+    @Benchmark
+    public int[] counterFileParallel() throws IOException {
+        return ChunkCounter.countParallel(bookFile, Runtime.getRuntime().availableProcessors()).getFrequencies();
+    }
+
+
+}
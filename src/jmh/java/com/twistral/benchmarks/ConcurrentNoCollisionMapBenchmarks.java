@@ -0,0 +1,133 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.collections.ConcurrentNoCollisionMap;
+import com.twistral.tephrium.collections.NoCollisionMap;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures how a shared bidirectional map scales with the number of threads, comparing
+ * {@link ConcurrentNoCollisionMap} with a {@link NoCollisionMap} behind one global lock.
+ * Every invocation splits a fixed number of operations between the threads, 90% lookups
+ * (half by key, half by value) and 10% remove-then-put updates of existing entries. Lookups use the
+ * {@code ...OrDefault} methods since another thread may be between the remove and the put of an entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConcurrentNoCollisionMapBenchmarks {
+
+    private static final int ENTRY_COUNT = 1 << 16;
+    private static final int OPERATION_COUNT = 1 << 20;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    private int threads;
+
+    private Integer[] keys;
+    private String[] values;
+    private ExecutorService executor;
+    private ConcurrentNoCollisionMap<Integer, String> concurrentMap;
+    private NoCollisionMap<Integer, String> lockedMap;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new Integer[ENTRY_COUNT];
+        values = new String[ENTRY_COUNT];
+        concurrentMap = new ConcurrentNoCollisionMap<>(ENTRY_COUNT);
+        lockedMap = new NoCollisionMap<>(ENTRY_COUNT);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            keys[i] = i;
+            values[i] = "id-" + i;
+            concurrentMap.put(keys[i], values[i]);
+            lockedMap.put(keys[i], values[i]);
+        }
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+
+    private long runThreads(Worker worker) throws InterruptedException, ExecutionException {
+        final List<Future<Long>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            final long seed = t;
+            futures.add(executor.submit(() -> worker.run(new SplitMix64Random(seed), OPERATION_COUNT / threads)));
+        }
+        long checksum = 0L;
+        for (Future<Long> future : futures) checksum += future.get();
+        return checksum;
+    }
+
+
+    private interface Worker {
+        long run(SplitMix64Random rand, int operations);
+    }
+
+
+    @Benchmark
+    public long concurrentMap() throws InterruptedException, ExecutionException {
+        return runThreads((rand, operations) -> {
+            long checksum = 0L;
+            for (int i = 0; i < operations; i++) {
+                final int index = rand.nextInt(0, ENTRY_COUNT), op = rand.nextInt(0, 20);
+                if(op < 9) checksum += concurrentMap.getValueOrDefault(keys[index], "").length();
+                else if(op < 18) checksum += concurrentMap.getKeyOrDefault(values[index], -1);
+                else if(concurrentMap.removeByKey(keys[index])) concurrentMap.put(keys[index], values[index]);
+            }
+            return checksum;
+        });
+    }
+
+
+    @Benchmark
+    public long globalLockMap() throws InterruptedException, ExecutionException {
+        return runThreads((rand, operations) -> {
+            long checksum = 0L;
+            for (int i = 0; i < operations; i++) {
+                final int index = rand.nextInt(0, ENTRY_COUNT), op = rand.nextInt(0, 20);
+                synchronized (lockedMap) {
+                    if(op < 9) checksum += lockedMap.getValue(keys[index]).length();
+                    else if(op < 18) checksum += lockedMap.getKey(values[index]);
+                    else if(lockedMap.removeByKey(keys[index])) lockedMap.put(keys[index], values[index]);
+                }
+            }
+            return checksum;
+        });
+    }
+
+
+}
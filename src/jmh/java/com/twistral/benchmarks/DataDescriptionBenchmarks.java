@@ -0,0 +1,104 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.stats.DataDescription;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures the {@link DataDescription} constructors and factories. {@code hashMapMode} is the boxed mode pass the sorted
+ * constructor used to run, kept here as the baseline of the run-length pass that replaced it. Run with
+ * {@code -prof gc} to compare the allocations, the values repeat around 10 times each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DataDescriptionBenchmarks {
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private double[] data, sortedData;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1L);
+        data = new double[size];
+        for (int i = 0; i < size; i++) data[i] = random.nextInt(size / 10) / 4d;
+        sortedData = data.clone();
+        Arrays.sort(sortedData);
+    }
+
+
+    @Benchmark
+    public double hashMapMode() {
+        HashMap<Double, Integer> frequencyMap = new HashMap<>();
+        double maxModeFrequency = 1d, tempMode = 0d;
+        for (double dbl : sortedData) {
+            if (!frequencyMap.containsKey(dbl)) {
+                frequencyMap.put(dbl, 1);
+                continue;
+            }
+            int current = frequencyMap.get(dbl) + 1;
+            frequencyMap.put(dbl, current);
+            if (current > maxModeFrequency) {
+                maxModeFrequency = current;
+                tempMode = dbl;
+            }
+        }
+        return tempMode;
+    }
+
+
+    @Benchmark
+    public DataDescription sorted() {
+        return new DataDescription(sortedData, "sorted");
+    }
+
+
+    @Benchmark
+    public DataDescription sortedParallel() {
+        return DataDescription.parallel(sortedData, "sorted");
+    }
+
+
+    @Benchmark
+    public DataDescription sortThenDescribe() {
+        final double[] copy = data.clone();
+        Arrays.sort(copy);
+        return new DataDescription(copy, "sorted");
+    }
+
+
+    @Benchmark
+    public DataDescription unsorted() {
+        return DataDescription.ofUnsorted(data, "unsorted");
+    }
+
+
+}
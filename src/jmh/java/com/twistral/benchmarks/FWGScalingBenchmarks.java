@@ -0,0 +1,79 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.fwg.ChunkifiedFWG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures how {@link ChunkifiedFWG#generateFakeWords(int, int)} scales with the number of worker threads.
+ * The parallel stream runs inside a pool with the given parallelism, since parallel streams use the pool they
+ * are called from. The sequential benchmark generates the same amount of words with a plain loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FWGScalingBenchmarks {
+
+    private static final int WORD_COUNT = 100_000;
+    private static final int WORD_LENGTH = 10;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private ChunkifiedFWG fwg;
+    private ForkJoinPool pool;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        fwg = new ChunkifiedFWG();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+
+    @Benchmark
+    public String[] parallel() throws InterruptedException, ExecutionException {
+        return pool.submit(() -> fwg.generateFakeWords(WORD_COUNT, WORD_LENGTH)).get();
+    }
+
+
+    // Doesn't depend on parallelism, it's here as the baseline
+    @Benchmark
+    public String[] sequential() {
+        final String[] words = new String[WORD_COUNT];
+        for (int i = 0; i < WORD_COUNT; i++) words[i] = fwg.generateFakeWord(WORD_LENGTH);
+        return words;
+    }
+
+
+}
@@ -0,0 +1,108 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.collections.FrozenNoCollisionMap;
+import com.twistral.tephrium.collections.NoCollisionMap;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares {@link FrozenNoCollisionMap} with the {@link NoCollisionMap} it was frozen from. Lookups cycle through
+ * pre-generated random keys and values that all exist in the maps. The setup also prints the retained heap size
+ * per entry of both maps (without the keys and values themselves, which they share), measured around a GC.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FrozenNoCollisionMapBenchmarks {
+
+    // Must be a power of two, used to cycle through pre-generated lookups
+    private static final int LOOKUP_COUNT = 1 << 16;
+
+    @Param({"1000000"})
+    private int entryCount;
+
+    private Integer[] keys;
+    private String[] values;
+    private int[] lookups;
+    private int lookupIndex;
+
+    private NoCollisionMap<Integer, String> mutableMap;
+    private FrozenNoCollisionMap<Integer, String> frozenMap;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new Integer[entryCount];
+        values = new String[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = i * 7;
+            values[i] = "handle-" + i;
+        }
+
+        long before = usedHeap();
+        mutableMap = NoCollisionMap.of(keys, values);
+        long after = usedHeap();
+        System.out.printf("%nNoCollisionMap:       %.1f bytes per entry%n", (after - before) / (double) entryCount);
+
+        before = after;
+        frozenMap = mutableMap.freeze();
+        after = usedHeap();
+        System.out.printf("FrozenNoCollisionMap: %.1f bytes per entry%n", (after - before) / (double) entryCount);
+
+        SplitMix64Random rand = new SplitMix64Random(1L);
+        lookups = new int[LOOKUP_COUNT];
+        rand.fill(lookups, 0, entryCount);
+        lookupIndex = 0;
+    }
+
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+
+    private int nextLookup() {
+        return lookups[(lookupIndex++) & (LOOKUP_COUNT - 1)];
+    }
+
+
+    @Benchmark public String mutableGetValue() { return mutableMap.getValue(keys[nextLookup()]); }
+    @Benchmark public Integer mutableGetKey() { return mutableMap.getKey(values[nextLookup()]); }
+
+    @Benchmark public String frozenGetValue() { return frozenMap.getValue(keys[nextLookup()]); }
+    @Benchmark public Integer frozenGetKey() { return frozenMap.getKey(values[nextLookup()]); }
+
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FrozenNoCollisionMap<Integer, String> freeze() {
+        return mutableMap.freeze();
+    }
+
+
+}
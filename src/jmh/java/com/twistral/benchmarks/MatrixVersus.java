@@ -0,0 +1,189 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+import com.twistral.tephrium.core.functions.TMath;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.core.matrices.*;
+import org.joml.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MatrixVersus {
+
+    // Must be a power of two, used to cycle through pre-generated matrix entries
+    private static final int MATRIX_COUNT = 1024;
+
+    // Every row holds 16 random entries: m00, m01, m02, m03, m10, ..., m33
+    private double[][] entries;
+    private int matrixIndex;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplitMix64Random rand = new SplitMix64Random();
+        entries = new double[MATRIX_COUNT][16];
+        for (int i = 0; i < MATRIX_COUNT; i++) {
+            for (int j = 0; j < 16; j++) {
+                entries[i][j] = rand.nextDouble();
+            }
+        }
+        matrixIndex = 0;
+    }
+
+
+    private double[] nextEntries() {
+        return entries[(matrixIndex++) & (MATRIX_COUNT - 1)];
+    }
+
+
+    /*//////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  MAT2  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark
+    public void tMat2(Blackhole bh) {
+        final double[] m = nextEntries();
+        TMat2 tMat = new TMat2(m[0], m[1], m[4], m[5]);
+        tMat.scale(5d).add(tMat).sub(new TMat2(m[5], m[1], m[4], m[0])).multiply(tMat);
+        final double det = tMat.determinant();
+        if(!TMath.equalsd(det, 0d))
+            tMat.invert();
+        bh.consume(det);
+        bh.consume(tMat);
+    }
+
+
+    @Benchmark
+    public void jomlMatrix2d(Blackhole bh) {
+        final double[] m = nextEntries();
+        Matrix2d jMat = new Matrix2d(m[0], m[4], m[1], m[5]);
+        jMat.scale(5d).add(jMat).sub(new Matrix2d(m[5], m[4], m[1], m[0])).mul(jMat);
+        final double det = jMat.determinant();
+        if(!TMath.equalsd(det, 0d))
+            jMat.invert();
+        bh.consume(det);
+        bh.consume(jMat);
+    }
+
+
+    /*//////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  MAT3  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark
+    public void tMat3(Blackhole bh) {
+        final double[] m = nextEntries();
+        TMat3 tMat = new TMat3(m[0], m[1], m[2], m[4], m[5], m[6], m[8], m[9], m[10]);
+        tMat.scale(5d).add(tMat).sub(new TMat3(1, 4, 7, 2, 5, 8, 3, 6, 9)).multiply(tMat);
+        final double det = tMat.determinant();
+        if(!TMath.equalsd(det, 0d))
+            tMat.invert();
+        bh.consume(det);
+        bh.consume(tMat);
+    }
+
+
+    @Benchmark
+    public void jomlMatrix3d(Blackhole bh) {
+        final double[] m = nextEntries();
+        Matrix3d jMat = new Matrix3d(m[0], m[4], m[8], m[1], m[5], m[9], m[2], m[6], m[10]);
+        jMat.scale(5d).add(jMat).sub(new Matrix3d(1, 2, 3, 4, 5, 6, 7, 8, 9)).mul(jMat);
+        final double det = jMat.determinant();
+        if(!TMath.equalsd(det, 0d))
+            jMat.invert();
+        bh.consume(det);
+        bh.consume(jMat);
+    }
+
+
+    /*//////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  MAT4  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark
+    public void tMat4(Blackhole bh) {
+        final double[] m = nextEntries();
+        TMat4 tMat = new TMat4(
+                m[0],  m[1],  m[2],  m[3],
+                m[4],  m[5],  m[6],  m[7],
+                m[8],  m[9],  m[10], m[11],
+                m[12], m[13], m[14], m[15]
+        );
+        tMat.scale(5d);
+        tMat.add(tMat);
+        tMat.sub(new TMat4(
+                16, 27, 38, 40,
+                10, 29, 32, 40,
+                10, 26, 37, 48,
+                16, 27, 38, 41
+        ));
+        tMat.multiply(tMat);
+        final double det = tMat.determinant() / 1E10d;
+        if(!TMath.equalsd(det, 0d))
+            tMat.invert();
+        bh.consume(det);
+        bh.consume(tMat);
+    }
+
+
+    @Benchmark
+    public void jomlMatrix4d(Blackhole bh) {
+        final double[] m = nextEntries();
+        Matrix4d jMat = new Matrix4d(
+                m[0], m[4], m[8],  m[12],
+                m[1], m[5], m[9],  m[13],
+                m[2], m[6], m[10], m[14],
+                m[3], m[7], m[11], m[15]
+        );
+
+        // scale(double) only does XYZ so do the last column manually
+        jMat = jMat.scale(5d);
+        jMat.m30(jMat.m30() * 5d);
+        jMat.m31(jMat.m31() * 5d);
+        jMat.m32(jMat.m32() * 5d);
+        jMat.m33(jMat.m33() * 5d);
+
+        jMat = jMat.add(jMat);
+        jMat = jMat.sub(new Matrix4d(
+                16, 10, 10, 16,
+                27, 29, 26, 27,
+                38, 32, 37, 38,
+                40, 40, 48, 41
+        ));
+        jMat = jMat.mul(jMat);
+        final double det = jMat.determinant() / 1E10d;
+        if(!TMath.equalsd(det, 0d))
+            jMat.invert();
+        bh.consume(det);
+        bh.consume(jMat);
+    }
+
+
+}
@@ -0,0 +1,187 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.collections.CompactNoCollisionMap;
+import com.twistral.tephrium.collections.IntIntBiMap;
+import com.twistral.tephrium.collections.IntObjBiMap;
+import com.twistral.tephrium.collections.NoCollisionMap;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares the bidirectional maps with {@link Integer} keys and {@link String} values, and with {@code int} keys
+ * and {@code int} values against the primitive maps. Lookups cycle through pre-generated random keys and values
+ * that all exist in the maps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NoCollisionMapBenchmarks {
+
+    // Must be a power of two, used to cycle through pre-generated lookups
+    private static final int LOOKUP_COUNT = 1 << 16;
+
+    @Param({"1000000"})
+    private int entryCount;
+
+    private Integer[] keys;
+    private String[] values;
+    private int[] lookups;
+    private int lookupIndex;
+
+    private NoCollisionMap<Integer, String> noCollisionMap;
+    private CompactNoCollisionMap<Integer, String> compactMap;
+    private IntObjBiMap<String> intObjMap;
+    private NoCollisionMap<Integer, Integer> boxedIntMap;
+    private IntIntBiMap intIntMap;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new Integer[entryCount];
+        values = new String[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = i * 7;
+            values[i] = "handle-" + i;
+        }
+
+        noCollisionMap = buildNoCollisionMap();
+        compactMap = buildCompactMap();
+        intObjMap = buildIntObjMap();
+        intIntMap = buildIntIntMap();
+        boxedIntMap = new NoCollisionMap<>();
+        for (int i = 0; i < entryCount; i++) boxedIntMap.put(i * 7, i);
+
+        SplitMix64Random rand = new SplitMix64Random(1L);
+        lookups = new int[LOOKUP_COUNT];
+        rand.fill(lookups, 0, entryCount);
+        lookupIndex = 0;
+    }
+
+
+    private int nextLookup() {
+        return lookups[(lookupIndex++) & (LOOKUP_COUNT - 1)];
+    }
+
+
+    /*///////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  BUILD  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public NoCollisionMap<Integer, String> buildNoCollisionMap() {
+        NoCollisionMap<Integer, String> map = new NoCollisionMap<>();
+        for (int i = 0; i < entryCount; i++) map.put(keys[i], values[i]);
+        return map;
+    }
+
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public NoCollisionMap<Integer, String> bulkNoCollisionMap() {
+        return NoCollisionMap.of(keys, values);
+    }
+
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CompactNoCollisionMap<Integer, String> buildCompactMap() {
+        CompactNoCollisionMap<Integer, String> map = new CompactNoCollisionMap<>();
+        for (int i = 0; i < entryCount; i++) map.put(keys[i], values[i]);
+        return map;
+    }
+
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntObjBiMap<String> buildIntObjMap() {
+        IntObjBiMap<String> map = new IntObjBiMap<>();
+        for (int i = 0; i < entryCount; i++) map.put(i * 7, values[i]);
+        return map;
+    }
+
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntIntBiMap buildIntIntMap() {
+        IntIntBiMap map = new IntIntBiMap();
+        for (int i = 0; i < entryCount; i++) map.put(i * 7, i);
+        return map;
+    }
+
+
+    /*////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  LOOKUP  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark public String noCollisionMapGetValue() { return noCollisionMap.getValue(keys[nextLookup()]); }
+    @Benchmark public Integer noCollisionMapGetKey() { return noCollisionMap.getKey(values[nextLookup()]); }
+
+    @Benchmark public String compactMapGetValue() { return compactMap.getValue(keys[nextLookup()]); }
+    @Benchmark public Integer compactMapGetKey() { return compactMap.getKey(values[nextLookup()]); }
+
+    @Benchmark public String intObjMapGetValue() { return intObjMap.getValue(nextLookup() * 7); }
+    @Benchmark public int intObjMapGetKey() { return intObjMap.getKey(values[nextLookup()]); }
+
+    @Benchmark public Integer boxedIntMapGetValue() { return boxedIntMap.getValue(nextLookup() * 7); }
+    @Benchmark public Integer boxedIntMapGetKey() { return boxedIntMap.getKey(nextLookup()); }
+
+    @Benchmark public int intIntMapGetValue() { return intIntMap.getValue(nextLookup() * 7); }
+    @Benchmark public int intIntMapGetKey() { return intIntMap.getKey(nextLookup()); }
+
+
+    /*////////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  REMOVE AND PUT  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark
+    public boolean noCollisionMapRemovePut() {
+        final int i = nextLookup();
+        noCollisionMap.removeByKey(keys[i]);
+        return noCollisionMap.put(keys[i], values[i]);
+    }
+
+
+    @Benchmark
+    public boolean compactMapRemovePut() {
+        final int i = nextLookup();
+        compactMap.removeByKey(keys[i]);
+        return compactMap.put(keys[i], values[i]);
+    }
+
+
+    @Benchmark
+    public boolean intIntMapRemovePut() {
+        final int i = nextLookup();
+        intIntMap.removeByKey(i * 7);
+        return intIntMap.put(i * 7, i);
+    }
+
+
+}
@@ -0,0 +1,92 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.stats.DataDescription;
+import com.twistral.tephrium.stats.KLLSketch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares describing a data set with {@link KLLSketch} against the exact path of sorting a copy for
+ * {@link DataDescription}. The setup prints the worst rank error of the sketch's percentiles for every k,
+ * the data is skewed to right like latencies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QuantileSketchBenchmarks {
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"200", "800"})
+    private int k;
+
+    private double[] data;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplitMix64Random random = new SplitMix64Random(1L);
+        data = new double[size];
+        for (int i = 0; i < size; i++) data[i] = Math.exp(random.nextDouble() * 10);
+
+        final double[] sortedData = data.clone();
+        Arrays.sort(sortedData);
+        final KLLSketch sketch = describeWithSketch();
+        double worstError = 0d;
+        for (int percent = 1; percent < 100; percent++) {
+            final double q = percent / 100d;
+            final int exactRank = Arrays.binarySearch(sortedData, sketch.quantile(q)) + 1;
+            worstError = Math.max(worstError, Math.abs(exactRank / (double) size - q));
+        }
+        System.out.printf("%nk=%d: worst rank error %.3f%%, %d values retained%n",
+                k, worstError * 100, sketch.retainedCount());
+    }
+
+
+    private KLLSketch describeWithSketch() {
+        final KLLSketch sketch = new KLLSketch(k, new SplitMix64Random(2L));
+        for (double value : data) sketch.add(value);
+        return sketch;
+    }
+
+
+    @Benchmark
+    public DataDescription sketch() {
+        return describeWithSketch().toDataDescription("latency");
+    }
+
+
+    @Benchmark
+    public DataDescription exactSorted() {
+        final double[] sortedData = data.clone();
+        Arrays.sort(sortedData);
+        return new DataDescription(sortedData, "latency");
+    }
+
+
+}
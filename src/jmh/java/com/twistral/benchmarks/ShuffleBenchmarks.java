@@ -0,0 +1,72 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.collections.TCollections;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares the sequential Fisher-Yates shuffle of an {@code int[]} with the parallel MergeShuffle, and the
+ * {@link LinkedList} shuffle of {@link TCollections} with {@link Collections#shuffle}. The arrays aren't reset
+ * between invocations, shuffling an already shuffled array costs the same.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ShuffleBenchmarks {
+
+    @Param({"100000", "10000000"})
+    private int size;
+
+    private int[] arr;
+    private LinkedList<Integer> linkedList;
+    private SplitMix64Random random;
+    private Random jdkRandom;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        arr = new int[size];
+        linkedList = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            arr[i] = i;
+            if(i < 100000) linkedList.add(i); // Collections.shuffle is too slow beyond that
+        }
+        random = new SplitMix64Random(1L);
+        jdkRandom = new Random(1L);
+    }
+
+
+    @Benchmark public int[] arraySequential() { TCollections.shuffle(arr, random); return arr; }
+    @Benchmark public int[] arrayParallel() { TCollections.parallelShuffle(arr, random); return arr; }
+
+    @Benchmark public Object linkedList() { TCollections.shuffle(linkedList, random); return linkedList; }
+    @Benchmark public Object linkedListJdk() { Collections.shuffle(linkedList, jdkRandom); return linkedList; }
+
+
+}
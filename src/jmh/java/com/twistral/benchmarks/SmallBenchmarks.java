@@ -0,0 +1,146 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.fwg.ChunkifiedFWG;
+import com.twistral.tephrium.fwg.EnglishCorpus;
+import com.twistral.tephrium.fwg.GibberishFWG;
+import com.twistral.tephrium.prng.*;
+import com.twistral.tephrium.strings.FuzzyStringMatcher;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SmallBenchmarks {
+
+    // Must be a power of two, used to cycle through pre-generated inputs
+    private static final int WORD_PAIR_COUNT = 1024;
+
+    private SplitMix64Random splitMix64Random;
+    private JavaSplittableRandom javaSplittableRandom;
+    private Xoshiro256StarStarRandom xoshiro256StarStarRandom;
+    private Xoroshiro128PlusPlusRandom xoroshiro128PlusPlusRandom;
+    private PCG64Random pcg64Random;
+
+    private ChunkifiedFWG chunkifiedFWG;
+
+    private LevenshteinDistance levenshteinDistance;
+    private FuzzyStringMatcher fuzzyStringMatcher;
+    private String[] words1, words2;
+    private int wordIndex;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        splitMix64Random = new SplitMix64Random();
+        javaSplittableRandom = new JavaSplittableRandom();
+        xoshiro256StarStarRandom = new Xoshiro256StarStarRandom();
+        xoroshiro128PlusPlusRandom = new Xoroshiro128PlusPlusRandom();
+        pcg64Random = new PCG64Random();
+
+        chunkifiedFWG = new ChunkifiedFWG();
+
+        levenshteinDistance = new LevenshteinDistance();
+        fuzzyStringMatcher = new FuzzyStringMatcher(200);
+
+        // Words are generated up front so that GibberishFWG is not a part of the measurements
+        GibberishFWG gibberishFWG = new GibberishFWG();
+        words1 = new String[WORD_PAIR_COUNT];
+        words2 = new String[WORD_PAIR_COUNT];
+        for (int i = 0; i < WORD_PAIR_COUNT; i++) {
+            words1[i] = gibberishFWG.generateFakeWord(20);
+            words2[i] = gibberishFWG.generateFakeWord(20);
+        }
+        wordIndex = 0;
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  RNG SEEDS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark public long randSeedFromTime() { return RNGUtils.randSeedFromTime(); }
+    @Benchmark public long randSeedFromMath() { return RNGUtils.randSeedFromMath(); }
+
+
+    /*///////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  PRNGS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark public int splitMix64NextInt() { return splitMix64Random.nextInt(); }
+    @Benchmark public long splitMix64NextLong() { return splitMix64Random.nextLong(); }
+    @Benchmark public float splitMix64NextFloat() { return splitMix64Random.nextFloat(); }
+    @Benchmark public double splitMix64NextDouble() { return splitMix64Random.nextDouble(); }
+    @Benchmark public boolean splitMix64NextBoolean() { return splitMix64Random.nextBoolean(); }
+
+    @Benchmark public int javaSplittableNextInt() { return javaSplittableRandom.nextInt(); }
+    @Benchmark public long javaSplittableNextLong() { return javaSplittableRandom.nextLong(); }
+    @Benchmark public float javaSplittableNextFloat() { return javaSplittableRandom.nextFloat(); }
+    @Benchmark public double javaSplittableNextDouble() { return javaSplittableRandom.nextDouble(); }
+    @Benchmark public boolean javaSplittableNextBoolean() { return javaSplittableRandom.nextBoolean(); }
+
+    @Benchmark public long xoshiro256StarStarNextLong() { return xoshiro256StarStarRandom.nextLong(); }
+    @Benchmark public double xoshiro256StarStarNextDouble() { return xoshiro256StarStarRandom.nextDouble(); }
+
+    @Benchmark public long xoroshiro128PlusPlusNextLong() { return xoroshiro128PlusPlusRandom.nextLong(); }
+    @Benchmark public double xoroshiro128PlusPlusNextDouble() { return xoroshiro128PlusPlusRandom.nextDouble(); }
+
+    @Benchmark public long pcg64NextLong() { return pcg64Random.nextLong(); }
+    @Benchmark public double pcg64NextDouble() { return pcg64Random.nextDouble(); }
+
+
+    /*//////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  FWGS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark public String chunkifiedFWGLength10() { return chunkifiedFWG.generateFakeWord(10); }
+    @Benchmark public String chunkifiedFWGLength30() { return chunkifiedFWG.generateFakeWord(30); }
+    @Benchmark public String englishCorpusRandomWord() { return EnglishCorpus.randomWord(splitMix64Random); }
+
+
+    /*//////////////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  FUZZY STRING MATCHER  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark
+    public int fuzzyStringMatcherLevenshtein() {
+        final int i = (wordIndex++) & (WORD_PAIR_COUNT - 1);
+        return fuzzyStringMatcher.levenshteinDistance(words1[i], words2[i]);
+    }
+
+
+    @Benchmark
+    public int apacheLevenshteinDistance() {
+        final int i = (wordIndex++) & (WORD_PAIR_COUNT - 1);
+        return levenshteinDistance.apply(words1[i], words2[i]);
+    }
+
+
+}
@@ -0,0 +1,131 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.collections.TArrays;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares the {@link TArrays} operations, which pick the scalar or the parallel path by the array size, with a
+ * plain scalar loop and with the always-parallel JDK methods. Run it with {@code -p size=...} on a many-core
+ * machine to find the sizes where the parallel paths start to pay off; the thresholds in {@link TArrays} should
+ * sit a little above those crossover points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TArraysBenchmarks {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    private int[] source, target;
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1L);
+        source = new int[size];
+        target = new int[size];
+        for (int i = 0; i < size; i++) source[i] = random.nextInt(1000);
+    }
+
+
+    /*//////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  FILL  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark public int[] fillScalar() { Arrays.fill(target, 7); return target; }
+    @Benchmark public int[] fillJdkParallel() { Arrays.parallelSetAll(target, i -> 7); return target; }
+    @Benchmark public int[] fillAuto() { TArrays.fill(target, 7); return target; }
+
+
+    /*/////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  PREFIX SUMS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////////*/
+
+
+    // Every prefix sum copies the source first, so that the values don't grow between invocations
+
+    @Benchmark
+    public int[] prefixSumScalar() {
+        System.arraycopy(source, 0, target, 0, size);
+        for (int i = 1; i < size; i++) target[i] += target[i - 1];
+        return target;
+    }
+
+    @Benchmark
+    public int[] prefixSumJdkParallel() {
+        System.arraycopy(source, 0, target, 0, size);
+        Arrays.parallelPrefix(target, Integer::sum);
+        return target;
+    }
+
+    @Benchmark
+    public int[] prefixSumAuto() {
+        System.arraycopy(source, 0, target, 0, size);
+        TArrays.prefixSum(target);
+        return target;
+    }
+
+
+    /*////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  REDUCTIONS  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark
+    public long sumScalar() {
+        long res = 0L;
+        for (int value : source) res += value;
+        return res;
+    }
+
+    @Benchmark public long sumJdkParallel() { return Arrays.stream(source).parallel().asLongStream().sum(); }
+    @Benchmark public long sumAuto() { return TArrays.sum(source); }
+
+    @Benchmark
+    public int maxScalar() {
+        int res = source[0];
+        for (int value : source) if(value > res) res = value;
+        return res;
+    }
+
+    @Benchmark public int maxJdkParallel() { return Arrays.stream(source).parallel().max().getAsInt(); }
+    @Benchmark public int maxAuto() { return TArrays.max(source); }
+
+
+    /*//////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  COPY  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////*/
+
+
+    @Benchmark public int[] copyScalar() { System.arraycopy(source, 0, target, 0, size); return target; }
+    @Benchmark public int[] copyAuto() { TArrays.copy(source, 0, target, 0, size); return target; }
+
+
+}
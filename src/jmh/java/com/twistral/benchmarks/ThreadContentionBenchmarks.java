@@ -0,0 +1,54 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.benchmarks;
+
+
+import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.prng.TRandomGenerator;
+import com.twistral.tephrium.prng.TThreadLocalRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares one RNG shared by every thread (what the old static RAND_SHUFFLE fields did) with
+ * {@link TThreadLocalRandom}, with 1 to 64 threads. Throughput is summed over all threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreadContentionBenchmarks {
+
+    private final TRandomGenerator shared = new SplitMix64Random();
+
+
+    @Benchmark @Threads(1)  public long shared1() { return shared.nextLong(); }
+    @Benchmark @Threads(4)  public long shared4() { return shared.nextLong(); }
+    @Benchmark @Threads(16) public long shared16() { return shared.nextLong(); }
+    @Benchmark @Threads(64) public long shared64() { return shared.nextLong(); }
+
+    @Benchmark @Threads(1)  public long threadLocal1() { return TThreadLocalRandom.current().nextLong(); }
+    @Benchmark @Threads(4)  public long threadLocal4() { return TThreadLocalRandom.current().nextLong(); }
+    @Benchmark @Threads(16) public long threadLocal16() { return TThreadLocalRandom.current().nextLong(); }
+    @Benchmark @Threads(64) public long threadLocal64() { return TThreadLocalRandom.current().nextLong(); }
+
+
+}
@@ -0,0 +1,477 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.collections;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+
+/**
+ * Same as {@link NoCollisionMap} (every key and every value is unique) but uses far less memory. Instead of two
+ * {@link HashMap}s, keys and values are stored next to each other in a single array and two open-addressing
+ * (linear probing) tables of {@code long}s point into that array, one table for each direction. Every table slot
+ * holds the hash code of its key/value too, so probing never touches objects that don't match. An entry costs
+ * two references plus a few table slots and no objects, while {@link NoCollisionMap} needs two {@link HashMap}
+ * nodes. Lookups take one probe sequence and puts take two. <br>
+ * Entries are kept dense (removing an entry moves the last entry into its place), so iteration order is not stable
+ * after removals. Unlike {@link NoCollisionMap}, a failed {@link #replaceKey(Object, Object)} or
+ * {@link #replaceValue(Object, Object)} leaves the map unchanged. This class is not thread-safe.
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class CompactNoCollisionMap<K, V> {
+
+    // Static variables
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+    private static final int KEY = 0, VALUE = 1;
+
+    // Instance variables
+    private final float loadFactor;
+    private Object[] entries;              // key i is at [2i] and value i is at [2i+1], entries are in [0, size)
+    private long[] keyTable, valueTable;   // (hash << 32) | (entry index + 1), 0 means the slot is empty
+    private int size, threshold, mask, shift;
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Creates an empty map that can hold {@code initialCapacity} entries before growing.
+     * @param initialCapacity number of entries the map can hold before growing
+     * @param loadFactor the maximum ratio of entries to table slots, must be in (0, 1)
+     */
+    public CompactNoCollisionMap(int initialCapacity, float loadFactor) {
+        if(initialCapacity < 0)
+            throw new TephriumException("Invalid initialCapacity value (must be >=0): %d", initialCapacity);
+        if(!(loadFactor > 0f && loadFactor < 1f))
+            throw new TephriumException("Invalid loadFactor value (must be in (0, 1)): %f", loadFactor);
+
+        this.loadFactor = loadFactor;
+        this.entries = new Object[0];
+
+        int tableLength = 2;
+        while(tableLength < MAX_TABLE_LENGTH && (int) (tableLength * loadFactor) < initialCapacity)
+            tableLength <<= 1;
+        resize(tableLength);
+    }
+
+    public CompactNoCollisionMap(int initialCapacity) {
+        this(initialCapacity, 0.75f);
+    }
+
+    public CompactNoCollisionMap() {
+        // Same as NoCollisionMap
+        this(32, 0.75f);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    public void clear() {
+        Arrays.fill(entries, 0, 2 * size, null);
+        Arrays.fill(keyTable, 0L);
+        Arrays.fill(valueTable, 0L);
+        size = 0;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Checks if the specified key exists in the map.
+     * @param key any key to search
+     * @return true if the key exists in the map
+     */
+    public boolean containsKey(K key) {
+        return findSlot(keyTable, KEY, key) >= 0;
+    }
+
+
+    /**
+     * Checks if the specified value exists in the map.
+     * @param value any value to search
+     * @return true if the value exists in the map
+     */
+    public boolean containsValue(V value) {
+        return findSlot(valueTable, VALUE, value) >= 0;
+    }
+
+
+    /** @return a read-only view of the keys */
+    public Set<K> keySet() {
+        return new ItemSet<>(KEY);
+    }
+
+
+    /** @return a read-only view of the values */
+    public Set<V> valueSet() {
+        return new ItemSet<>(VALUE);
+    }
+
+
+    /** @return a read-only view of the entries */
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<K, V> function) {
+        final int len = 2 * size;
+        for (int i = 0; i < len; i += 2) function.accept((K) entries[i], (V) entries[i + 1]);
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @return the key corresponding to the given value or <b>null</b> if theres no correspondence
+     */
+    public K getKey(final V value) {
+        return getKeyOrDefault(value, null);
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @return the value corresponding to the given key or <b>null</b> if theres no correspondence
+     */
+    public V getValue(final K key) {
+        return getValueOrDefault(key, null);
+    }
+
+
+    /**
+     * Tries to create a new entry in the map. If the given key or the
+     * given value already exists in the map, it does nothing and returns false.
+     * @param key any key to put in the map
+     * @param value any value to put in the map
+     * @return true if key and value both dont already exist in the map
+     */
+    public boolean put(final K key, final V value) {
+        int keySlot = findSlot(keyTable, KEY, key);
+        if(keySlot >= 0) return false;
+        int valueSlot = findSlot(valueTable, VALUE, value);
+        if(valueSlot >= 0) return false;
+
+        if(size >= threshold) {
+            while(size >= threshold) {
+                if(keyTable.length == MAX_TABLE_LENGTH)
+                    throw new TephriumException("CompactNoCollisionMap can not hold more than %d entries.", threshold);
+                resize(keyTable.length << 1);
+            }
+            keySlot = findSlot(keyTable, KEY, key);
+            valueSlot = findSlot(valueTable, VALUE, value);
+        }
+
+        final int index = size++;
+        entries[2 * index] = key;
+        entries[2 * index + 1] = value;
+        keyTable[~keySlot] = slotData(hash(key), index);
+        valueTable[~valueSlot] = slotData(hash(value), index);
+        return true;
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @param defaultKey any key to return when there is no correspondence
+     * @return the key corresponding to the given value or <b>defaultKey</b> if theres no correspondence
+     */
+    @SuppressWarnings("unchecked")
+    public K getKeyOrDefault(final V value, final K defaultKey) {
+        final int slot = findSlot(valueTable, VALUE, value);
+        return (slot >= 0) ? (K) entries[2 * indexOf(valueTable[slot])] : defaultKey;
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @param defaultValue any value to return when there is no correspondence
+     * @return the value corresponding to the given key or <b>defaultValue</b> if theres no correspondence
+     */
+    @SuppressWarnings("unchecked")
+    public V getValueOrDefault(final K key, final V defaultValue) {
+        final int slot = findSlot(keyTable, KEY, key);
+        return (slot >= 0) ? (V) entries[2 * indexOf(keyTable[slot]) + 1] : defaultValue;
+    }
+
+
+    public boolean removeByKey(final K key) {
+        final int keySlot = findSlot(keyTable, KEY, key);
+        if(keySlot < 0) return false;
+
+        final int index = indexOf(keyTable[keySlot]);
+        removeEntry(index, keySlot, slotOfEntry(valueTable, VALUE, index));
+        return true;
+    }
+
+
+    public boolean removeByValue(final V value) {
+        final int valueSlot = findSlot(valueTable, VALUE, value);
+        if(valueSlot < 0) return false;
+
+        final int index = indexOf(valueTable[valueSlot]);
+        removeEntry(index, slotOfEntry(keyTable, KEY, index), valueSlot);
+        return true;
+    }
+
+
+    public boolean replaceValue(final K key, final V newValue) {
+        final int keySlot = findSlot(keyTable, KEY, key);
+        if(keySlot < 0) return false;
+        return replaceItem(valueTable, VALUE, indexOf(keyTable[keySlot]), newValue);
+    }
+
+
+    public boolean replaceKey(final V value, final K newKey) {
+        final int valueSlot = findSlot(valueTable, VALUE, value);
+        if(valueSlot < 0) return false;
+        return replaceItem(keyTable, KEY, indexOf(valueTable[valueSlot]), newKey);
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    private static int hash(Object item) {
+        return Objects.hashCode(item);
+    }
+
+    private static long slotData(int hash, int index) {
+        return ((long) hash << 32) | (index + 1);
+    }
+
+    private static int indexOf(long slotData) {
+        return (int) slotData - 1;
+    }
+
+    // Fibonacci hashing, the top bits of the product depend on all bits of the hash code
+    private int homeSlot(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+
+    /**
+     * @param side {@link #KEY} or {@link #VALUE}
+     * @return the slot pointing to the given item or {@code ~slot} of the empty slot where it would be inserted
+     */
+    private int findSlot(long[] table, int side, Object item) {
+        final Object[] entries = this.entries;
+        final int mask = this.mask;
+        final int hash = hash(item);
+
+        int slot = homeSlot(hash);
+        while(true) {
+            final long data = table[slot];
+            if(data == 0L) return ~slot;
+            if((int) (data >>> 32) == hash) {
+                final Object other = entries[2 * indexOf(data) + side];
+                if(other == item || (other != null && other.equals(item))) return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+
+    // Same as findSlot but looks for an entry index, so equals() is never called
+    private int slotOfEntry(long[] table, int side, int index) {
+        int slot = homeSlot(hash(entries[2 * index + side]));
+        while((int) table[slot] != index + 1) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+
+    // Backward shift deletion, so linear probing never needs tombstones
+    private void deleteSlot(long[] table, int hole) {
+        int slot = (hole + 1) & mask;
+        while(table[slot] != 0L) {
+            final int home = homeSlot((int) (table[slot] >>> 32));
+            // The entry can fill the hole only if the hole is between its home slot and its current slot
+            if(((slot - home) & mask) >= ((slot - hole) & mask)) {
+                table[hole] = table[slot];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[hole] = 0L;
+    }
+
+
+    private void removeEntry(int index, int keySlot, int valueSlot) {
+        deleteSlot(keyTable, keySlot);
+        deleteSlot(valueTable, valueSlot);
+
+        final int last = --size;
+        if(index != last) {
+            // The last entry fills the gap, so that the entries stay dense
+            final int lastKeySlot = slotOfEntry(keyTable, KEY, last);
+            final int lastValueSlot = slotOfEntry(valueTable, VALUE, last);
+            keyTable[lastKeySlot] = slotData((int) (keyTable[lastKeySlot] >>> 32), index);
+            valueTable[lastValueSlot] = slotData((int) (valueTable[lastValueSlot] >>> 32), index);
+            entries[2 * index] = entries[2 * last];
+            entries[2 * index + 1] = entries[2 * last + 1];
+        }
+        entries[2 * last] = null;
+        entries[2 * last + 1] = null;
+    }
+
+
+    // Replaces a key or a value of an entry with newItem, unless newItem belongs to another entry
+    private boolean replaceItem(long[] table, int side, int index, Object newItem) {
+        final Object oldItem = entries[2 * index + side];
+        if(Objects.equals(oldItem, newItem)) return true;
+        if(findSlot(table, side, newItem) >= 0) return false;
+
+        deleteSlot(table, slotOfEntry(table, side, index));
+        entries[2 * index + side] = newItem;
+        table[~findSlot(table, side, newItem)] = slotData(hash(newItem), index);
+        return true;
+    }
+
+
+    private void resize(int tableLength) {
+        this.mask = tableLength - 1;
+        this.shift = Integer.numberOfLeadingZeros(tableLength) + 1;
+        // At least 1 so that small tables with a low loadFactor still grow, at most tableLength - 1 so that
+        // an empty slot always ends the probing
+        this.threshold = Math.max(1, Math.min((int) (tableLength * loadFactor), tableLength - 1));
+        this.entries = Arrays.copyOf(entries, 2 * threshold);
+
+        final long[] oldKeyTable = keyTable, oldValueTable = valueTable;
+        this.keyTable = new long[tableLength];
+        this.valueTable = new long[tableLength];
+        if(oldKeyTable == null) return;
+
+        // Hashes are in the slots and entries are unique, so there is no need to call hashCode() or equals()
+        for (long data : oldKeyTable) if(data != 0L) reinsert(keyTable, data);
+        for (long data : oldValueTable) if(data != 0L) reinsert(valueTable, data);
+    }
+
+
+    private void reinsert(long[] table, long data) {
+        int slot = homeSlot((int) (data >>> 32));
+        while(table[slot] != 0L) slot = (slot + 1) & mask;
+        table[slot] = data;
+    }
+
+
+    /*///////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  VIEWS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////*/
+
+
+    private final class ItemSet<T> extends AbstractSet<T> {
+
+        private final int side;
+
+        private ItemSet(int side) {
+            this.side = side;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return findSlot((side == KEY) ? keyTable : valueTable, side, o) >= 0;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if(index >= size) throw new NoSuchElementException();
+                    return (T) entries[2 * (index++) + side];
+                }
+            };
+        }
+
+    }
+
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if(!(o instanceof Map.Entry)) return false;
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            final int slot = findSlot(keyTable, KEY, entry.getKey());
+            return (slot >= 0) && Objects.equals(entries[2 * indexOf(keyTable[slot]) + 1], entry.getValue());
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new Iterator<Map.Entry<K, V>>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Map.Entry<K, V> next() {
+                    if(index >= size) throw new NoSuchElementException();
+                    final int i = index++;
+                    return new AbstractMap.SimpleImmutableEntry<>((K) entries[2 * i], (V) entries[2 * i + 1]);
+                }
+            };
+        }
+
+    }
+
+
+}
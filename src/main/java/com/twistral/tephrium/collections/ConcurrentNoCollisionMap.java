@@ -0,0 +1,384 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.collections;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+
+/**
+ * A thread-safe {@link NoCollisionMap}. Every update is atomic in both directions: {@link #put}, the remove methods
+ * and the replace methods either change both directions or nothing, and no reader can see one direction updated
+ * without the other. <br>
+ * Entries are stored in two {@link ConcurrentHashMap}s, guarded by a fixed number of {@link StampedLock} stripes.
+ * Every key and every value belongs to a stripe (chosen by its hash), and an update write-locks the stripes of all
+ * keys and values it touches (at most three) for its whole duration. Since stripes are always locked in ascending
+ * order, updates can't deadlock, and updates of unrelated entries usually lock different stripes, so they don't
+ * wait for each other. <br>
+ * Lookups don't lock anything: they read the map and then validate an optimistic stamp of their stripe, and only
+ * fall back to a read lock if an update of the same stripe happened during the read. <br>
+ * Nulls are not allowed as keys or values. Iteration ({@link #forEach}, {@link #keySet()}...) is weakly consistent.
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class ConcurrentNoCollisionMap<K, V> {
+
+    // Static variables
+    private static final int DEFAULT_STRIPE_COUNT = 64;
+
+    // Instance variables
+    private final ConcurrentHashMap<K, V> mapKeyToValue;
+    private final ConcurrentHashMap<V, K> mapValueToKey;
+    private final StampedLock[] stripes;
+    private final int stripeMask;
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Creates an empty map.
+     * @param initialCapacity number of entries the map can hold before growing
+     * @param loadFactor load factor of the internal maps
+     * @param stripeCount number of locks, rounded up to a power of two. More stripes means less contention
+     *                    between updates, a few times the number of writer threads is usually enough.
+     */
+    public ConcurrentNoCollisionMap(int initialCapacity, float loadFactor, int stripeCount) {
+        if(stripeCount <= 0 || stripeCount > (1 << 16))
+            throw new TephriumException("Invalid stripeCount value (must be in [1, 65536]): %d", stripeCount);
+
+        mapKeyToValue = new ConcurrentHashMap<>(initialCapacity, loadFactor);
+        mapValueToKey = new ConcurrentHashMap<>(initialCapacity, loadFactor);
+
+        int length = 1;
+        while(length < stripeCount) length <<= 1;
+        stripes = new StampedLock[length];
+        for (int i = 0; i < length; i++) stripes[i] = new StampedLock();
+        stripeMask = length - 1;
+    }
+
+    public ConcurrentNoCollisionMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity, loadFactor, DEFAULT_STRIPE_COUNT);
+    }
+
+    public ConcurrentNoCollisionMap(int initialCapacity) {
+        this(initialCapacity, 0.75f);
+    }
+
+    public ConcurrentNoCollisionMap() {
+        this(32, 0.75f);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /** Removes every entry. Waits for all running updates and blocks new ones until it's done. */
+    public void clear() {
+        for (StampedLock stripe : stripes) stripe.writeLock();
+        try {
+            mapKeyToValue.clear();
+            mapValueToKey.clear();
+        }
+        finally {
+            for (StampedLock stripe : stripes) stripe.tryUnlockWrite();
+        }
+    }
+
+
+    public boolean isEmpty() {
+        return mapKeyToValue.isEmpty();
+    }
+
+
+    /** @return the number of entries, which may already be outdated if other threads are updating the map */
+    public int size() {
+        return mapKeyToValue.size();
+    }
+
+
+    public boolean containsKey(K key) {
+        return getValue(key) != null;
+    }
+
+
+    public boolean containsValue(V value) {
+        return getKey(value) != null;
+    }
+
+
+    /** @return an unmodifiable, weakly consistent view of the keys */
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(mapKeyToValue.keySet());
+    }
+
+
+    /** @return an unmodifiable, weakly consistent view of the values */
+    public Set<V> valueSet() {
+        return Collections.unmodifiableSet(mapValueToKey.keySet());
+    }
+
+
+    /** @return an unmodifiable, weakly consistent view of the entries */
+    public Set<Map.Entry<K, V>> entrySet() {
+        return Collections.unmodifiableSet(mapKeyToValue.entrySet());
+    }
+
+
+    /** Calls the given function for every entry, weakly consistent like {@link ConcurrentHashMap#forEach}. */
+    public void forEach(BiConsumer<K, V> function) {
+        mapKeyToValue.forEach(function);
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @return the key corresponding to the given value or <b>null</b> if theres no correspondence
+     */
+    public K getKey(final V value) {
+        if(value == null) return null;
+
+        final StampedLock stripe = stripes[stripeOf(value)];
+        final long stamp = stripe.tryOptimisticRead();
+        final K key = mapValueToKey.get(value);
+        if(stripe.validate(stamp)) return key;
+
+        final long readStamp = stripe.readLock();
+        try {
+            return mapValueToKey.get(value);
+        }
+        finally {
+            stripe.unlockRead(readStamp);
+        }
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @return the value corresponding to the given key or <b>null</b> if theres no correspondence
+     */
+    public V getValue(final K key) {
+        if(key == null) return null;
+
+        final StampedLock stripe = stripes[stripeOf(key)];
+        final long stamp = stripe.tryOptimisticRead();
+        final V value = mapKeyToValue.get(key);
+        if(stripe.validate(stamp)) return value;
+
+        final long readStamp = stripe.readLock();
+        try {
+            return mapKeyToValue.get(key);
+        }
+        finally {
+            stripe.unlockRead(readStamp);
+        }
+    }
+
+
+    public K getKeyOrDefault(final V value, final K defaultKey) {
+        final K key = getKey(value);
+        return (key != null) ? key : defaultKey;
+    }
+
+
+    public V getValueOrDefault(final K key, final V defaultValue) {
+        final V value = getValue(key);
+        return (value != null) ? value : defaultValue;
+    }
+
+
+    /**
+     * Tries to create a new entry in the map. If the given key or the
+     * given value already exists in the map, it does nothing and returns false.
+     * @param key any key to put in the map, can't be null
+     * @param value any value to put in the map, can't be null
+     * @return true if key and value both dont already exist in the map
+     */
+    public boolean put(final K key, final V value) {
+        if(key == null || value == null)
+            throw new TephriumException("ConcurrentNoCollisionMap does not allow null keys or values.");
+
+        final int keyStripe = stripeOf(key), valueStripe = stripeOf(value);
+        lockStripes(keyStripe, valueStripe, keyStripe);
+        try {
+            if(mapKeyToValue.containsKey(key) || mapValueToKey.containsKey(value))
+                return false;
+
+            mapKeyToValue.put(key, value);
+            mapValueToKey.put(value, key);
+            return true;
+        }
+        finally {
+            unlockStripes(keyStripe, valueStripe, keyStripe);
+        }
+    }
+
+
+    public boolean removeByKey(final K key) {
+        while(true) {
+            final V value = getValue(key);
+            if(value == null) return false;
+
+            final int keyStripe = stripeOf(key), valueStripe = stripeOf(value);
+            lockStripes(keyStripe, valueStripe, keyStripe);
+            try {
+                // The entry may have changed before the stripe of its value was locked
+                if(mapKeyToValue.get(key) != value) continue;
+
+                mapKeyToValue.remove(key);
+                mapValueToKey.remove(value);
+                return true;
+            }
+            finally {
+                unlockStripes(keyStripe, valueStripe, keyStripe);
+            }
+        }
+    }
+
+
+    public boolean removeByValue(final V value) {
+        while(true) {
+            final K key = getKey(value);
+            if(key == null) return false;
+
+            final int keyStripe = stripeOf(key), valueStripe = stripeOf(value);
+            lockStripes(keyStripe, valueStripe, keyStripe);
+            try {
+                if(mapValueToKey.get(value) != key) continue;
+
+                mapKeyToValue.remove(key);
+                mapValueToKey.remove(value);
+                return true;
+            }
+            finally {
+                unlockStripes(keyStripe, valueStripe, keyStripe);
+            }
+        }
+    }
+
+
+    /**
+     * Changes the value of the given key. Does nothing if the key doesn't exist or if the new value belongs to
+     * another key.
+     * @param newValue the new value of the key, can't be null
+     * @return true if the key now corresponds to the new value
+     */
+    public boolean replaceValue(final K key, final V newValue) {
+        if(newValue == null)
+            throw new TephriumException("ConcurrentNoCollisionMap does not allow null values.");
+
+        while(true) {
+            final V oldValue = getValue(key);
+            if(oldValue == null) return false;
+
+            final int keyStripe = stripeOf(key), oldStripe = stripeOf(oldValue), newStripe = stripeOf(newValue);
+            lockStripes(keyStripe, oldStripe, newStripe);
+            try {
+                if(mapKeyToValue.get(key) != oldValue) continue;
+                if(oldValue.equals(newValue)) return true;
+                if(mapValueToKey.containsKey(newValue)) return false;
+
+                mapValueToKey.remove(oldValue);
+                mapValueToKey.put(newValue, key);
+                mapKeyToValue.put(key, newValue);
+                return true;
+            }
+            finally {
+                unlockStripes(keyStripe, oldStripe, newStripe);
+            }
+        }
+    }
+
+
+    /**
+     * Changes the key of the given value. Does nothing if the value doesn't exist or if the new key belongs to
+     * another value.
+     * @param newKey the new key of the value, can't be null
+     * @return true if the value now corresponds to the new key
+     */
+    public boolean replaceKey(final V value, final K newKey) {
+        if(newKey == null)
+            throw new TephriumException("ConcurrentNoCollisionMap does not allow null keys.");
+
+        while(true) {
+            final K oldKey = getKey(value);
+            if(oldKey == null) return false;
+
+            final int valueStripe = stripeOf(value), oldStripe = stripeOf(oldKey), newStripe = stripeOf(newKey);
+            lockStripes(valueStripe, oldStripe, newStripe);
+            try {
+                if(mapValueToKey.get(value) != oldKey) continue;
+                if(oldKey.equals(newKey)) return true;
+                if(mapKeyToValue.containsKey(newKey)) return false;
+
+                mapKeyToValue.remove(oldKey);
+                mapKeyToValue.put(newKey, value);
+                mapValueToKey.put(value, newKey);
+                return true;
+            }
+            finally {
+                unlockStripes(valueStripe, oldStripe, newStripe);
+            }
+        }
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    private int stripeOf(Object obj) {
+        final int h = obj.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+
+
+    // Locks the distinct stripes in ascending order, the same order in every thread makes deadlocks impossible
+    private void lockStripes(int a, int b, int c) {
+        int t;
+        if(a > b) { t = a; a = b; b = t; }
+        if(b > c) { t = b; b = c; c = t; }
+        if(a > b) { t = a; a = b; b = t; }
+
+        stripes[a].writeLock();
+        if(b != a) stripes[b].writeLock();
+        if(c != b) stripes[c].writeLock();
+    }
+
+
+    private void unlockStripes(int a, int b, int c) {
+        stripes[a].tryUnlockWrite();
+        if(b != a) stripes[b].tryUnlockWrite();
+        if(c != a && c != b) stripes[c].tryUnlockWrite();
+    }
+
+
+}
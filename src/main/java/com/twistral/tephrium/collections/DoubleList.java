@@ -0,0 +1,275 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.collections;
+
+
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.stats.DataDescription;
+import com.twistral.tephrium.stats.FrequencyDistTable;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+
+/**
+ * A growable list of {@code double}s backed by a {@code double[]}, without any boxing. The array grows by 50% when it's
+ * full, so adding is amortized O(1). This class is not thread-safe.
+ */
+public class DoubleList {
+
+    // Static variables
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8; // some VMs can't allocate larger arrays
+
+    // Instance variables
+    private double[] elements;
+    private int size;
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    public DoubleList(int initialCapacity) {
+        if(initialCapacity < 0)
+            throw new TephriumException("Invalid initialCapacity value (must be >=0): %d", initialCapacity);
+        this.elements = new double[initialCapacity];
+        this.size = 0;
+    }
+
+    public DoubleList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Creates a list holding a copy of the given array. */
+    public DoubleList(double[] elements) {
+        this.elements = elements.clone();
+        this.size = elements.length;
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int capacity() { return elements.length; }
+
+
+    /** Removes all elements, the capacity stays the same. */
+    public void clear() {
+        size = 0;
+    }
+
+
+    public double get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+
+    public void set(int index, double value) {
+        checkIndex(index);
+        elements[index] = value;
+    }
+
+
+    public void add(double value) {
+        if(size == elements.length) grow(size + 1);
+        elements[size++] = value;
+    }
+
+
+    public void addAll(double[] values, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, elements, size, length);
+        size += length;
+    }
+
+
+    public void addAll(double[] values) {
+        addAll(values, 0, values.length);
+    }
+
+
+    public void addAll(DoubleList other) {
+        addAll(other.elements, 0, other.size);
+    }
+
+
+    /**
+     * Removes the element at the given index, moving every element after it one index back.
+     * @return the removed element
+     */
+    public double removeAt(int index) {
+        checkIndex(index);
+        final double removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+
+    /** @return the index of the first occurrence of the value (compared like {@link Double#equals}), or -1 */
+    public int indexOf(double value) {
+        for (int i = 0; i < size; i++) {
+            if(Double.compare(elements[i], value) == 0) return i;
+        }
+        return -1;
+    }
+
+
+    public boolean contains(double value) {
+        return indexOf(value) >= 0;
+    }
+
+
+    /** Sorts the list in ascending order. */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+
+    /**
+     * Searches a sorted list with {@link Arrays#binarySearch(double[], int, int, double)}.
+     * @return the index of the value, or {@code -(insertion point) - 1} if it doesn't exist
+     */
+    public int binarySearch(double value) {
+        return Arrays.binarySearch(elements, 0, size, value);
+    }
+
+
+    public void forEach(DoubleConsumer function) {
+        final double[] elements = this.elements;
+        for (int i = 0, size = this.size; i < size; i++) function.accept(elements[i]);
+    }
+
+
+    /** Makes sure that the list can hold the given number of elements without growing again. */
+    public void ensureCapacity(int minCapacity) {
+        if(minCapacity > elements.length) grow(minCapacity);
+    }
+
+
+    /** Shrinks the backing array to the size of the list. */
+    public void trimToSize() {
+        if(size < elements.length) elements = Arrays.copyOf(elements, size);
+    }
+
+
+    /*////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONVERSION  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////////*/
+
+
+    /** @return a new array holding the elements */
+    public double[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+
+    /**
+     * Returns the backing array without copying it. Only the first {@link #size()} elements belong to the list,
+     * and the list stops using the returned array when it grows. Call {@link #trimToSize()} first when an array
+     * of exactly {@link #size()} elements is needed.
+     * @return the backing array
+     */
+    public double[] toArrayView() {
+        return elements;
+    }
+
+
+    /** @return a new sorted array holding the elements, as used by {@link DataDescription} */
+    public double[] toSortedArray() {
+        final double[] arr = toArray();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+
+    public DataDescription toDataDescription(String dataName) {
+        return new DataDescription(toSortedArray(), dataName);
+    }
+
+
+    public FrequencyDistTable toFrequencyDistTable(int classCount) {
+        return new FrequencyDistTable(toArray(), classCount);
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size)
+            throw new TephriumException("Index out of bounds (size is %d): %d", size, index);
+    }
+
+
+    private void grow(int minCapacity) {
+        if(minCapacity < 0 || minCapacity > MAX_CAPACITY)
+            throw new TephriumException("DoubleList can not hold more than %d elements.", MAX_CAPACITY);
+
+        final int grown = elements.length + (elements.length >> 1);
+        final int newCapacity = (grown < 0 || grown > MAX_CAPACITY) ? MAX_CAPACITY :
+                Math.max(Math.max(grown, minCapacity), DEFAULT_CAPACITY);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+
+    /*////////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  OBJECT METHODS  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////////////*/
+
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+        DoubleList other = (DoubleList) o;
+        if(size != other.size) return false;
+        for (int i = 0; i < size; i++) {
+            if(Double.compare(elements[i], other.elements[i]) != 0) return false;
+        }
+        return true;
+    }
+
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) result = (31 * result) + Double.hashCode(elements[i]);
+        return result;
+    }
+
+
+}
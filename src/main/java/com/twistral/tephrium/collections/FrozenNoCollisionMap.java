@@ -0,0 +1,205 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.collections;
+
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+
+/**
+ * An immutable snapshot of a {@link NoCollisionMap}, created by {@link NoCollisionMap#freeze()}. <br>
+ * Each direction is stored in flat arrays sorted by the (mixed) hash codes of its items: their hashes, and the
+ * items interleaved with their partners (the value of every key, the key of every value). A directory of the top
+ * bits of the hashes points to the few items that can match, so lookups take O(1) expected time, don't allocate
+ * and don't follow any pointers except the matching item itself. This uses around a third of the memory of the
+ * two {@link java.util.HashMap}s of a {@link NoCollisionMap}. <br>
+ * All fields are final, so a snapshot can be shared between threads without any synchronization. Nulls are
+ * allowed like in {@link NoCollisionMap}.
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public final class FrozenNoCollisionMap<K, V> {
+
+    private final SortedIndex byKey, byValue;
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /** Both arrays must hold unique items, keys[i] corresponds to values[i]. The arrays are not kept. */
+    FrozenNoCollisionMap(Object[] keys, Object[] values) {
+        this.byKey = new SortedIndex(keys, values);
+        this.byValue = new SortedIndex(values, keys);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    public boolean isEmpty() {
+        return byKey.hashes.length == 0;
+    }
+
+
+    public int size() {
+        return byKey.hashes.length;
+    }
+
+
+    public boolean containsKey(K key) {
+        return byKey.find(key) >= 0;
+    }
+
+
+    public boolean containsValue(V value) {
+        return byValue.find(value) >= 0;
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @return the key corresponding to the given value or <b>null</b> if theres no correspondence
+     */
+    public K getKey(final V value) {
+        return getKeyOrDefault(value, null);
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @return the value corresponding to the given key or <b>null</b> if theres no correspondence
+     */
+    public V getValue(final K key) {
+        return getValueOrDefault(key, null);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public K getKeyOrDefault(final V value, final K defaultKey) {
+        final int index = byValue.find(value);
+        return (index >= 0) ? (K) byValue.entries[2 * index + 1] : defaultKey;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public V getValueOrDefault(final K key, final V defaultValue) {
+        final int index = byKey.find(key);
+        return (index >= 0) ? (V) byKey.entries[2 * index + 1] : defaultValue;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<K, V> function) {
+        final Object[] entries = byKey.entries;
+        for (int i = 0; i < entries.length; i += 2) function.accept((K) entries[i], (V) entries[i + 1]);
+    }
+
+
+    /** @return a new mutable map holding the same entries */
+    @SuppressWarnings("unchecked")
+    public NoCollisionMap<K, V> thaw() {
+        final Object[] entries = byKey.entries;
+        final Object[] keys = new Object[size()], values = new Object[size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries[2 * i];
+            values[i] = entries[2 * i + 1];
+        }
+        return NoCollisionMap.of((K[]) keys, (V[]) values);
+    }
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  SORTED INDEX  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * One direction of the map. Items are sorted by their mixed hashes (as unsigned ints), item i and its partner
+     * are {@code entries[2i]} and {@code entries[2i+1]} so that both are on the same cache line, and
+     * {@code directory[b]} is the index of the first item whose hash starts with the bits of b.
+     * The directory has between n/2 and n buckets, so every bucket holds one or two items on average.
+     */
+    private static final class SortedIndex {
+
+        final Object[] entries;
+        final int[] hashes, directory;
+        final int shift;
+
+
+        SortedIndex(Object[] unsortedItems, Object[] unsortedPartners) {
+            final int n = unsortedItems.length;
+            final int bits = (n <= 1) ? 0 : 31 - Integer.numberOfLeadingZeros(n);
+            this.shift = 32 - bits;
+
+            // Sorts (hash, index) pairs packed into longs, without boxing. Flipping the sign bit of the
+            // hash makes the signed order of the longs the unsigned order of the hashes.
+            final long[] order = new long[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = ((long) (hash(unsortedItems[i]) ^ Integer.MIN_VALUE) << 32) | i;
+            }
+            Arrays.sort(order);
+
+            this.entries = new Object[2 * n];
+            this.hashes = new int[n];
+            this.directory = new int[(1 << bits) + 1];
+            for (int i = 0; i < n; i++) {
+                final int index = (int) order[i];
+                entries[2 * i] = unsortedItems[index];
+                entries[2 * i + 1] = unsortedPartners[index];
+                hashes[i] = (int) (order[i] >>> 32) ^ Integer.MIN_VALUE;
+                directory[bucket(hashes[i]) + 1]++;
+            }
+            for (int b = 1; b < directory.length; b++) directory[b] += directory[b - 1];
+        }
+
+
+        /** @return the index of the item or -1 if it doesn't exist */
+        int find(Object item) {
+            final int h = hash(item);
+            final int b = bucket(h);
+            final int[] hashes = this.hashes;
+            for (int i = directory[b], end = directory[b + 1]; i < end; i++) {
+                if(hashes[i] == h && Objects.equals(entries[2 * i], item)) return i;
+            }
+            return -1;
+        }
+
+
+        // A shift of 32 must give 0, which the long shift does
+        private int bucket(int h) {
+            return (int) ((h & 0xFFFFFFFFL) >>> shift);
+        }
+
+
+        // Multiplying by an odd number is a bijection, so two items have the same mixed hash only
+        // if they have the same hashCode, and the top bits depend on every bit of the hashCode
+        private static int hash(Object item) {
+            return (item == null) ? 0 : item.hashCode() * 0x9E3779B9;
+        }
+
+    }
+
+
+}
@@ -0,0 +1,365 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.collections;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import java.util.Arrays;
+
+
+/**
+ * A {@link NoCollisionMap} for {@code int} keys and {@code int} values, without any boxing. Every key and every
+ * value is unique, so both can be searched in O(1) time. <br>
+ * Entries are stored twice, in two open-addressing (linear probing) tables of {@code int} pairs: one table is
+ * searched by keys and holds (key, value) pairs, the other one is searched by values and holds (value, key) pairs.
+ * So a lookup is a single probe sequence that never leaves the table. A slot whose first {@code int} is 0 is
+ * empty, that's why the key 0 and the value 0 are stored in fields instead. <br>
+ * Since {@code int}s can't be null, {@link #getKey(int)} and {@link #getValue(int)} return 0 when there is no
+ * entry, use {@link #containsKey(int)} or the {@code ...OrDefault} methods when 0 is a valid key/value.
+ * This class is not thread-safe.
+ */
+public class IntIntBiMap {
+
+    // Static variables
+    private static final int MAX_TABLE_LENGTH = 1 << 29; // tables hold two ints per slot
+
+    // Instance variables
+    private final float loadFactor;
+    private int[] byKey, byValue;     // slot i is [2i, 2i+1]: (key, value) in byKey and (value, key) in byValue
+    private boolean hasZeroKey, hasZeroValue;
+    private int zeroKeyValue, zeroValueKey;
+    private int size, threshold, mask, shift;
+
+
+    /** Primitive version of {@link java.util.function.BiConsumer}, used by {@link #forEach(IntIntConsumer)}. */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Creates an empty map that can hold {@code initialCapacity} entries before growing.
+     * @param initialCapacity number of entries the map can hold before growing
+     * @param loadFactor the maximum ratio of entries to table slots, must be in (0, 1)
+     */
+    public IntIntBiMap(int initialCapacity, float loadFactor) {
+        if(initialCapacity < 0)
+            throw new TephriumException("Invalid initialCapacity value (must be >=0): %d", initialCapacity);
+        if(!(loadFactor > 0f && loadFactor < 1f))
+            throw new TephriumException("Invalid loadFactor value (must be in (0, 1)): %f", loadFactor);
+
+        this.loadFactor = loadFactor;
+        int tableLength = 2;
+        while(tableLength < MAX_TABLE_LENGTH && (int) (tableLength * loadFactor) < initialCapacity)
+            tableLength <<= 1;
+        resize(tableLength);
+    }
+
+    public IntIntBiMap(int initialCapacity) {
+        this(initialCapacity, 0.75f);
+    }
+
+    public IntIntBiMap() {
+        this(32, 0.75f);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    public void clear() {
+        Arrays.fill(byKey, 0);
+        Arrays.fill(byValue, 0);
+        hasZeroKey = false;
+        hasZeroValue = false;
+        size = 0;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public boolean containsKey(int key) {
+        return (key == 0) ? hasZeroKey : (findSlot(byKey, key) >= 0);
+    }
+
+
+    public boolean containsValue(int value) {
+        return (value == 0) ? hasZeroValue : (findSlot(byValue, value) >= 0);
+    }
+
+
+    /**
+     * Calls the given function for every entry, without allocating anything.
+     * @param function any function that takes a key and its value
+     */
+    public void forEach(IntIntConsumer function) {
+        if(hasZeroKey) function.accept(0, zeroKeyValue);
+        final int[] table = byKey;
+        for (int i = 0; i < table.length; i += 2) {
+            if(table[i] != 0) function.accept(table[i], table[i + 1]);
+        }
+    }
+
+
+    /** @return a new array of all keys, in no particular order */
+    public int[] keys() {
+        final int[] arr = new int[size];
+        final int[] index = new int[1];
+        forEach((key, value) -> arr[index[0]++] = key);
+        return arr;
+    }
+
+
+    /** @return a new array of all values, in no particular order */
+    public int[] values() {
+        final int[] arr = new int[size];
+        final int[] index = new int[1];
+        forEach((key, value) -> arr[index[0]++] = value);
+        return arr;
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @return the key corresponding to the given value or <b>0</b> if theres no correspondence
+     */
+    public int getKey(int value) {
+        return getKeyOrDefault(value, 0);
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @return the value corresponding to the given key or <b>0</b> if theres no correspondence
+     */
+    public int getValue(int key) {
+        return getValueOrDefault(key, 0);
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @param defaultKey any key to return when there is no correspondence
+     * @return the key corresponding to the given value or <b>defaultKey</b> if theres no correspondence
+     */
+    public int getKeyOrDefault(int value, int defaultKey) {
+        if(value == 0) return hasZeroValue ? zeroValueKey : defaultKey;
+        final int slot = findSlot(byValue, value);
+        return (slot >= 0) ? byValue[2 * slot + 1] : defaultKey;
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @param defaultValue any value to return when there is no correspondence
+     * @return the value corresponding to the given key or <b>defaultValue</b> if theres no correspondence
+     */
+    public int getValueOrDefault(int key, int defaultValue) {
+        if(key == 0) return hasZeroKey ? zeroKeyValue : defaultValue;
+        final int slot = findSlot(byKey, key);
+        return (slot >= 0) ? byKey[2 * slot + 1] : defaultValue;
+    }
+
+
+    /**
+     * Tries to create a new entry in the map. If the given key or the
+     * given value already exists in the map, it does nothing and returns false.
+     * @param key any key to put in the map
+     * @param value any value to put in the map
+     * @return true if key and value both dont already exist in the map
+     */
+    public boolean put(int key, int value) {
+        if(containsKey(key) || containsValue(value))
+            return false;
+
+        while(size >= threshold) {
+            if(mask + 1 == MAX_TABLE_LENGTH)
+                throw new TephriumException("IntIntBiMap can not hold more than %d entries.", threshold);
+            resize(2 * (mask + 1));
+        }
+
+        insert(byKey, key, value);
+        insert(byValue, value, key);
+        size++;
+        return true;
+    }
+
+
+    public boolean removeByKey(int key) {
+        if(!containsKey(key)) return false;
+
+        final int value = getValue(key);
+        remove(byKey, key);
+        remove(byValue, value);
+        size--;
+        return true;
+    }
+
+
+    public boolean removeByValue(int value) {
+        if(!containsValue(value)) return false;
+
+        final int key = getKey(value);
+        remove(byKey, key);
+        remove(byValue, value);
+        size--;
+        return true;
+    }
+
+
+    /**
+     * Changes the value of the given key. Does nothing if the key doesn't exist or if the new value belongs to
+     * another key.
+     * @return true if the key now corresponds to the new value
+     */
+    public boolean replaceValue(int key, int newValue) {
+        if(!containsKey(key)) return false;
+
+        final int oldValue = getValue(key);
+        if(oldValue == newValue) return true;
+        if(containsValue(newValue)) return false;
+
+        remove(byValue, oldValue);
+        remove(byKey, key);
+        insert(byKey, key, newValue);
+        insert(byValue, newValue, key);
+        return true;
+    }
+
+
+    /**
+     * Changes the key of the given value. Does nothing if the value doesn't exist or if the new key belongs to
+     * another value.
+     * @return true if the value now corresponds to the new key
+     */
+    public boolean replaceKey(int value, int newKey) {
+        if(!containsValue(value)) return false;
+
+        final int oldKey = getKey(value);
+        if(oldKey == newKey) return true;
+        if(containsKey(newKey)) return false;
+
+        remove(byKey, oldKey);
+        remove(byValue, value);
+        insert(byValue, value, newKey);
+        insert(byKey, newKey, value);
+        return true;
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    // Fibonacci hashing, the top bits of the product depend on all bits of x
+    private int homeSlot(int x) {
+        return (x * 0x9E3779B9) >>> shift;
+    }
+
+
+    /** @return the slot of x (which can't be 0) or {@code ~slot} of the empty slot where it would be inserted */
+    private int findSlot(int[] table, int x) {
+        int slot = homeSlot(x);
+        while(true) {
+            final int current = table[2 * slot];
+            if(current == x) return slot;
+            if(current == 0) return ~slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+
+    // Inserts the (x, partner) pair into the table or into the zero fields, x must not exist in the table
+    private void insert(int[] table, int x, int partner) {
+        if(x == 0) {
+            if(table == byKey) { hasZeroKey = true; zeroKeyValue = partner; }
+            else { hasZeroValue = true; zeroValueKey = partner; }
+            return;
+        }
+
+        final int slot = ~findSlot(table, x);
+        table[2 * slot] = x;
+        table[2 * slot + 1] = partner;
+    }
+
+
+    // Removes x (which must exist) from the table or from the zero fields, with backward shift deletion
+    private void remove(int[] table, int x) {
+        if(x == 0) {
+            if(table == byKey) hasZeroKey = false;
+            else hasZeroValue = false;
+            return;
+        }
+
+        int hole = findSlot(table, x);
+        int slot = (hole + 1) & mask;
+        while(table[2 * slot] != 0) {
+            final int home = homeSlot(table[2 * slot]);
+            // The pair can fill the hole only if the hole is between its home slot and its current slot
+            if(((slot - home) & mask) >= ((slot - hole) & mask)) {
+                table[2 * hole] = table[2 * slot];
+                table[2 * hole + 1] = table[2 * slot + 1];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[2 * hole] = 0;
+        table[2 * hole + 1] = 0;
+    }
+
+
+    private void resize(int tableLength) {
+        final int[] oldByKey = byKey, oldByValue = byValue;
+        this.mask = tableLength - 1;
+        this.shift = Integer.numberOfLeadingZeros(tableLength) + 1;
+        // At least 1 so that small tables with a low loadFactor still grow, at most tableLength - 1 so that
+        // an empty slot always ends the probing
+        this.threshold = Math.max(1, Math.min((int) (tableLength * loadFactor), tableLength - 1));
+        this.byKey = new int[2 * tableLength];
+        this.byValue = new int[2 * tableLength];
+        if(oldByKey == null) return;
+
+        for (int i = 0; i < oldByKey.length; i += 2) {
+            if(oldByKey[i] != 0) insert(byKey, oldByKey[i], oldByKey[i + 1]);
+            if(oldByValue[i] != 0) insert(byValue, oldByValue[i], oldByValue[i + 1]);
+        }
+    }
+
+
+}
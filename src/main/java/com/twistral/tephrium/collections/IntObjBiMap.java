@@ -0,0 +1,414 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.collections;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import java.util.Arrays;
+
+
+/**
+ * A {@link NoCollisionMap} for {@code int} keys and object values, without boxing the keys. Every key and every
+ * value is unique, so both can be searched in O(1) time. <br>
+ * Entries are stored twice, in two open-addressing (linear probing) tables: the key table holds keys in an
+ * {@code int[]} and their values in a parallel {@code Object[]}, the value table holds values in an
+ * {@code Object[]} and their keys in a parallel {@code int[]}. A key slot holding 0 is empty, that's why the
+ * key 0 is stored in fields instead. A value slot holding null is empty, so null values are not allowed. <br>
+ * Since {@code int}s can't be null, {@link #getKey(Object)} returns 0 when there is no entry, use
+ * {@link #containsValue(Object)} or {@link #getKeyOrDefault(Object, int)} when 0 is a valid key.
+ * This class is not thread-safe.
+ * @param <V> type of the values
+ */
+public class IntObjBiMap<V> {
+
+    // Static variables
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+
+    // Instance variables
+    private final float loadFactor;
+    private int[] keys;                 // the key table, valuesOfKeys[i] is the value of keys[i]
+    private Object[] valuesOfKeys;
+    private Object[] values;            // the value table, keysOfValues[i] is the key of values[i]
+    private int[] keysOfValues;
+    private boolean hasZeroKey;
+    private V zeroKeyValue;
+    private int size, threshold, mask, shift;
+
+
+    /** Primitive version of {@link java.util.function.BiConsumer}, used by {@link #forEach(IntObjConsumer)}. */
+    @FunctionalInterface
+    public interface IntObjConsumer<V> {
+        void accept(int key, V value);
+    }
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Creates an empty map that can hold {@code initialCapacity} entries before growing.
+     * @param initialCapacity number of entries the map can hold before growing
+     * @param loadFactor the maximum ratio of entries to table slots, must be in (0, 1)
+     */
+    public IntObjBiMap(int initialCapacity, float loadFactor) {
+        if(initialCapacity < 0)
+            throw new TephriumException("Invalid initialCapacity value (must be >=0): %d", initialCapacity);
+        if(!(loadFactor > 0f && loadFactor < 1f))
+            throw new TephriumException("Invalid loadFactor value (must be in (0, 1)): %f", loadFactor);
+
+        this.loadFactor = loadFactor;
+        int tableLength = 2;
+        while(tableLength < MAX_TABLE_LENGTH && (int) (tableLength * loadFactor) < initialCapacity)
+            tableLength <<= 1;
+        resize(tableLength);
+    }
+
+    public IntObjBiMap(int initialCapacity) {
+        this(initialCapacity, 0.75f);
+    }
+
+    public IntObjBiMap() {
+        this(32, 0.75f);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(valuesOfKeys, null);
+        Arrays.fill(values, null);
+        Arrays.fill(keysOfValues, 0);
+        hasZeroKey = false;
+        zeroKeyValue = null;
+        size = 0;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public boolean containsKey(int key) {
+        return (key == 0) ? hasZeroKey : (findKeySlot(key) >= 0);
+    }
+
+
+    public boolean containsValue(V value) {
+        return (value != null) && (findValueSlot(value) >= 0);
+    }
+
+
+    /**
+     * Calls the given function for every entry, without allocating anything.
+     * @param function any function that takes a key and its value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjConsumer<? super V> function) {
+        if(hasZeroKey) function.accept(0, zeroKeyValue);
+        final int[] keys = this.keys;
+        final Object[] valuesOfKeys = this.valuesOfKeys;
+        for (int i = 0; i < keys.length; i++) {
+            if(keys[i] != 0) function.accept(keys[i], (V) valuesOfKeys[i]);
+        }
+    }
+
+
+    /** @return a new array of all keys, in no particular order */
+    public int[] keys() {
+        final int[] arr = new int[size];
+        final int[] index = new int[1];
+        forEach((key, value) -> arr[index[0]++] = key);
+        return arr;
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @return the key corresponding to the given value or <b>0</b> if theres no correspondence
+     */
+    public int getKey(V value) {
+        return getKeyOrDefault(value, 0);
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @return the value corresponding to the given key or <b>null</b> if theres no correspondence
+     */
+    public V getValue(int key) {
+        return getValueOrDefault(key, null);
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @param defaultKey any key to return when there is no correspondence
+     * @return the key corresponding to the given value or <b>defaultKey</b> if theres no correspondence
+     */
+    public int getKeyOrDefault(V value, int defaultKey) {
+        if(value == null) return defaultKey;
+        final int slot = findValueSlot(value);
+        return (slot >= 0) ? keysOfValues[slot] : defaultKey;
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @param defaultValue any value to return when there is no correspondence
+     * @return the value corresponding to the given key or <b>defaultValue</b> if theres no correspondence
+     */
+    @SuppressWarnings("unchecked")
+    public V getValueOrDefault(int key, V defaultValue) {
+        if(key == 0) return hasZeroKey ? zeroKeyValue : defaultValue;
+        final int slot = findKeySlot(key);
+        return (slot >= 0) ? (V) valuesOfKeys[slot] : defaultValue;
+    }
+
+
+    /**
+     * Tries to create a new entry in the map. If the given key or the
+     * given value already exists in the map, it does nothing and returns false.
+     * @param key any key to put in the map
+     * @param value any value to put in the map, can't be null
+     * @return true if key and value both dont already exist in the map
+     */
+    public boolean put(int key, V value) {
+        if(value == null)
+            throw new TephriumException("IntObjBiMap does not allow null values.");
+        if(containsKey(key) || containsValue(value))
+            return false;
+
+        while(size >= threshold) {
+            if(mask + 1 == MAX_TABLE_LENGTH)
+                throw new TephriumException("IntObjBiMap can not hold more than %d entries.", threshold);
+            resize(2 * (mask + 1));
+        }
+
+        insertKey(key, value);
+        insertValue(value, key);
+        size++;
+        return true;
+    }
+
+
+    public boolean removeByKey(int key) {
+        if(!containsKey(key)) return false;
+
+        final V value = getValue(key);
+        removeKey(key);
+        removeValue(value);
+        size--;
+        return true;
+    }
+
+
+    public boolean removeByValue(V value) {
+        if(!containsValue(value)) return false;
+
+        final int key = getKey(value);
+        removeKey(key);
+        removeValue(value);
+        size--;
+        return true;
+    }
+
+
+    /**
+     * Changes the value of the given key. Does nothing if the key doesn't exist or if the new value belongs to
+     * another key.
+     * @param newValue the new value of the key, can't be null
+     * @return true if the key now corresponds to the new value
+     */
+    public boolean replaceValue(int key, V newValue) {
+        if(newValue == null)
+            throw new TephriumException("IntObjBiMap does not allow null values.");
+        if(!containsKey(key)) return false;
+
+        final V oldValue = getValue(key);
+        if(oldValue.equals(newValue)) return true;
+        if(containsValue(newValue)) return false;
+
+        removeValue(oldValue);
+        removeKey(key);
+        insertKey(key, newValue);
+        insertValue(newValue, key);
+        return true;
+    }
+
+
+    /**
+     * Changes the key of the given value. Does nothing if the value doesn't exist or if the new key belongs to
+     * another value.
+     * @return true if the value now corresponds to the new key
+     */
+    public boolean replaceKey(V value, int newKey) {
+        if(!containsValue(value)) return false;
+
+        final int oldKey = getKey(value);
+        if(oldKey == newKey) return true;
+        if(containsKey(newKey)) return false;
+
+        removeKey(oldKey);
+        removeValue(value);
+        insertValue(value, newKey);
+        insertKey(newKey, value);
+        return true;
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    // Fibonacci hashing, the top bits of the product depend on all bits of x
+    private int homeSlot(int x) {
+        return (x * 0x9E3779B9) >>> shift;
+    }
+
+
+    /** @return the slot of the key (which can't be 0) or {@code ~slot} of the empty slot where it would go */
+    private int findKeySlot(int key) {
+        final int[] keys = this.keys;
+        int slot = homeSlot(key);
+        while(true) {
+            final int current = keys[slot];
+            if(current == key) return slot;
+            if(current == 0) return ~slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+
+    /** @return the slot of the value (which can't be null) or {@code ~slot} of the empty slot where it would go */
+    private int findValueSlot(Object value) {
+        final Object[] values = this.values;
+        int slot = homeSlot(value.hashCode());
+        while(true) {
+            final Object current = values[slot];
+            if(current == null) return ~slot;
+            if(current == value || current.equals(value)) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+
+    private void insertKey(int key, V value) {
+        if(key == 0) {
+            hasZeroKey = true;
+            zeroKeyValue = value;
+            return;
+        }
+
+        final int slot = ~findKeySlot(key);
+        keys[slot] = key;
+        valuesOfKeys[slot] = value;
+    }
+
+
+    private void insertValue(V value, int key) {
+        final int slot = ~findValueSlot(value);
+        values[slot] = value;
+        keysOfValues[slot] = key;
+    }
+
+
+    // Removes the key (which must exist) with backward shift deletion
+    private void removeKey(int key) {
+        if(key == 0) {
+            hasZeroKey = false;
+            zeroKeyValue = null;
+            return;
+        }
+
+        int hole = findKeySlot(key);
+        int slot = (hole + 1) & mask;
+        while(keys[slot] != 0) {
+            final int home = homeSlot(keys[slot]);
+            // The key can fill the hole only if the hole is between its home slot and its current slot
+            if(((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                valuesOfKeys[hole] = valuesOfKeys[slot];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[hole] = 0;
+        valuesOfKeys[hole] = null;
+    }
+
+
+    // Removes the value (which must exist) with backward shift deletion
+    private void removeValue(Object value) {
+        int hole = findValueSlot(value);
+        int slot = (hole + 1) & mask;
+        while(values[slot] != null) {
+            final int home = homeSlot(values[slot].hashCode());
+            if(((slot - home) & mask) >= ((slot - hole) & mask)) {
+                values[hole] = values[slot];
+                keysOfValues[hole] = keysOfValues[slot];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        values[hole] = null;
+        keysOfValues[hole] = 0;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private void resize(int tableLength) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values, oldValuesOfKeys = valuesOfKeys;
+        final int[] oldKeysOfValues = keysOfValues;
+
+        this.mask = tableLength - 1;
+        this.shift = Integer.numberOfLeadingZeros(tableLength) + 1;
+        // At least 1 so that small tables with a low loadFactor still grow, at most tableLength - 1 so that
+        // an empty slot always ends the probing
+        this.threshold = Math.max(1, Math.min((int) (tableLength * loadFactor), tableLength - 1));
+        this.keys = new int[tableLength];
+        this.valuesOfKeys = new Object[tableLength];
+        this.values = new Object[tableLength];
+        this.keysOfValues = new int[tableLength];
+        if(oldKeys == null) return;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != 0) insertKey(oldKeys[i], (V) oldValuesOfKeys[i]);
+            if(oldValues[i] != null) insertValue((V) oldValues[i], oldKeysOfValues[i]);
+        }
+    }
+
+
+}
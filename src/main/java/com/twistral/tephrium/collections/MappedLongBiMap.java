@@ -0,0 +1,473 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.collections;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * A {@link LongLongBiMap} that lives in a memory-mapped file instead of the heap. Opening an existing file doesn't
+ * read or rebuild anything, the operating system pages the tables in as they are used, so a map of any size opens
+ * instantly. Any number of processes can open the same file with {@link #openReadOnly(Path)} and share the
+ * operating system's page cache. <br>
+ * File layout (little-endian): a 64 byte header, then the key table and the value table. Both tables are
+ * open-addressing (linear probing) tables of 16 byte slots: the key table holds (key, value) pairs and the value
+ * table holds (value, key) pairs. A slot whose first {@code long} is 0 is empty, the key 0 and the value 0 are
+ * stored in the header. <br>
+ * The capacity is fixed when the file is created and the tables never resize. There can be only one writer and
+ * it must not run while other processes read the file, readers should open the file after the writer has called
+ * {@link #close()} (or {@link #force()}). This class is not thread-safe.
+ */
+public class MappedLongBiMap implements Closeable {
+
+    // Static variables
+    private static final long MAGIC = 0x50414D4942485054L; // "TPHBIMAP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+    private static final int WINDOW_BITS = 30; // a multiple of the slot size, so no slot crosses two windows
+    private static final long WINDOW_MASK = (1L << WINDOW_BITS) - 1;
+
+    // Header offsets
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int TABLE_LENGTH_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int FLAGS_OFFSET = 20;
+    private static final int ZERO_KEY_VALUE_OFFSET = 24;
+    private static final int ZERO_VALUE_KEY_OFFSET = 32;
+    private static final int HAS_ZERO_KEY = 1, HAS_ZERO_VALUE = 2;
+
+    // Instance variables
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final boolean readOnly;
+    private final int tableLength, mask, shift, maxSize;
+    private final long byKey, byValue; // file offsets of the tables
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    private MappedLongBiMap(FileChannel channel, boolean readOnly, int tableLength) throws IOException {
+        this.channel = channel;
+        this.readOnly = readOnly;
+        this.tableLength = tableLength;
+        this.mask = tableLength - 1;
+        this.shift = 64 - Integer.numberOfTrailingZeros(tableLength);
+        this.maxSize = (int) (tableLength * 0.75f);
+        this.byKey = HEADER_SIZE;
+        this.byValue = HEADER_SIZE + (long) tableLength * SLOT_SIZE;
+
+        final long fileSize = fileSizeFor(tableLength);
+        final FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+        this.windows = new MappedByteBuffer[(int) ((fileSize + WINDOW_MASK) >>> WINDOW_BITS)];
+        for (int i = 0; i < windows.length; i++) {
+            final long position = (long) i << WINDOW_BITS;
+            windows[i] = channel.map(mode, position, Math.min(1L << WINDOW_BITS, fileSize - position));
+            windows[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+
+    /**
+     * Creates a new map file, replacing the file if it exists. The file is created at its full size, but
+     * it's sparse on most file systems, so only the pages that are written use disk space.
+     * @param path path of the file
+     * @param maxEntries maximum number of entries the map can hold
+     * @return the new empty map, open for reading and writing
+     * @throws IOException if the file can't be created
+     */
+    public static MappedLongBiMap create(Path path, int maxEntries) throws IOException {
+        if(maxEntries < 0)
+            throw new TephriumException("Invalid maxEntries value (must be >=0): %d", maxEntries);
+
+        int tableLength = 2;
+        while(tableLength < MAX_TABLE_LENGTH && (int) (tableLength * 0.75f) < maxEntries) tableLength <<= 1;
+
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final MappedLongBiMap map = new MappedLongBiMap(channel, false, tableLength);
+            map.putLong(MAGIC_OFFSET, MAGIC);
+            map.putInt(VERSION_OFFSET, VERSION);
+            map.putInt(TABLE_LENGTH_OFFSET, tableLength);
+            return map;
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Opens an existing map file for reading and writing.
+     * @param path path of a file created by {@link #create(Path, int)}
+     * @throws IOException if the file can't be opened
+     * @throws TephriumException if the file is not a valid map file
+     */
+    public static MappedLongBiMap open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+
+    /**
+     * Opens an existing map file for reading only. Every method that changes the map throws a
+     * {@link TephriumException}. Any number of processes can read the same file at the same time.
+     * @param path path of a file created by {@link #create(Path, int)}
+     * @throws IOException if the file can't be opened
+     * @throws TephriumException if the file is not a valid map file
+     */
+    public static MappedLongBiMap openReadOnly(Path path) throws IOException {
+        return open(path, true);
+    }
+
+
+    private static MappedLongBiMap open(Path path, boolean readOnly) throws IOException {
+        final FileChannel channel = readOnly ? FileChannel.open(path, StandardOpenOption.READ) :
+                FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(HEADER_SIZE, channel.size()));
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if(header.capacity() < HEADER_SIZE || header.getLong(MAGIC_OFFSET) != MAGIC)
+                throw new TephriumException("Not a MappedLongBiMap file: %s", path);
+            if(header.getInt(VERSION_OFFSET) != VERSION)
+                throw new TephriumException("Unsupported MappedLongBiMap version: %d", header.getInt(VERSION_OFFSET));
+
+            final int tableLength = header.getInt(TABLE_LENGTH_OFFSET);
+            if(tableLength < 2 || tableLength > MAX_TABLE_LENGTH || Integer.bitCount(tableLength) != 1
+                    || channel.size() != fileSizeFor(tableLength))
+                throw new TephriumException("Corrupted MappedLongBiMap file: %s", path);
+
+            return new MappedLongBiMap(channel, readOnly, tableLength);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /** Writes all changes to the storage device. */
+    public void force() {
+        for (MappedByteBuffer window : windows) window.force();
+    }
+
+
+    /**
+     * Writes all changes (if the map is writable) and closes the file. The map must not be used after this.
+     * @throws IOException if the file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if(!readOnly) force();
+        channel.close();
+    }
+
+
+    public void clear() {
+        checkWritable();
+        for (int slot = 0; slot < tableLength; slot++) {
+            setSlot(byKey, slot, 0L, 0L);
+            setSlot(byValue, slot, 0L, 0L);
+        }
+        putInt(FLAGS_OFFSET, 0);
+        putInt(SIZE_OFFSET, 0);
+    }
+
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+
+    public int size() {
+        return getInt(SIZE_OFFSET);
+    }
+
+
+    /** @return the maximum number of entries this map can hold */
+    public int maxSize() {
+        return maxSize;
+    }
+
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+
+    public boolean containsKey(long key) {
+        return (key == 0) ? hasFlag(HAS_ZERO_KEY) : (findSlot(byKey, key) >= 0);
+    }
+
+
+    public boolean containsValue(long value) {
+        return (value == 0) ? hasFlag(HAS_ZERO_VALUE) : (findSlot(byValue, value) >= 0);
+    }
+
+
+    /**
+     * Calls the given function for every entry, in the order of the key table.
+     * @param function any function that takes a key and its value
+     */
+    public void forEach(LongLongBiMap.LongLongConsumer function) {
+        if(hasFlag(HAS_ZERO_KEY)) function.accept(0L, getLong(ZERO_KEY_VALUE_OFFSET));
+        for (int slot = 0; slot < tableLength; slot++) {
+            final long key = getLong(slotOffset(byKey, slot));
+            if(key != 0) function.accept(key, getLong(slotOffset(byKey, slot) + 8));
+        }
+    }
+
+
+    /**
+     * Returns the key corresponding to the given value.
+     * @param value any value to search
+     * @return the key corresponding to the given value or <b>0</b> if theres no correspondence
+     */
+    public long getKey(long value) {
+        return getKeyOrDefault(value, 0L);
+    }
+
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key any key to search
+     * @return the value corresponding to the given key or <b>0</b> if theres no correspondence
+     */
+    public long getValue(long key) {
+        return getValueOrDefault(key, 0L);
+    }
+
+
+    public long getKeyOrDefault(long value, long defaultKey) {
+        if(value == 0) return hasFlag(HAS_ZERO_VALUE) ? getLong(ZERO_VALUE_KEY_OFFSET) : defaultKey;
+        final int slot = findSlot(byValue, value);
+        return (slot >= 0) ? getLong(slotOffset(byValue, slot) + 8) : defaultKey;
+    }
+
+
+    public long getValueOrDefault(long key, long defaultValue) {
+        if(key == 0) return hasFlag(HAS_ZERO_KEY) ? getLong(ZERO_KEY_VALUE_OFFSET) : defaultValue;
+        final int slot = findSlot(byKey, key);
+        return (slot >= 0) ? getLong(slotOffset(byKey, slot) + 8) : defaultValue;
+    }
+
+
+    /**
+     * Tries to create a new entry in the map. If the given key or the
+     * given value already exists in the map, it does nothing and returns false.
+     * @return true if key and value both dont already exist in the map
+     * @throws TephriumException if the map is read-only or already holds {@link #maxSize()} entries
+     */
+    public boolean put(long key, long value) {
+        checkWritable();
+        if(containsKey(key) || containsValue(value))
+            return false;
+
+        final int size = size();
+        if(size == maxSize)
+            throw new TephriumException("MappedLongBiMap is full, it can hold %d entries.", maxSize);
+
+        insert(byKey, key, value);
+        insert(byValue, value, key);
+        putInt(SIZE_OFFSET, size + 1);
+        return true;
+    }
+
+
+    public boolean removeByKey(long key) {
+        checkWritable();
+        if(!containsKey(key)) return false;
+
+        final long value = getValue(key);
+        remove(byKey, key);
+        remove(byValue, value);
+        putInt(SIZE_OFFSET, size() - 1);
+        return true;
+    }
+
+
+    public boolean removeByValue(long value) {
+        checkWritable();
+        if(!containsValue(value)) return false;
+
+        final long key = getKey(value);
+        remove(byKey, key);
+        remove(byValue, value);
+        putInt(SIZE_OFFSET, size() - 1);
+        return true;
+    }
+
+
+    /**
+     * Changes the value of the given key. Does nothing if the key doesn't exist or if the new value belongs to
+     * another key.
+     * @return true if the key now corresponds to the new value
+     */
+    public boolean replaceValue(long key, long newValue) {
+        checkWritable();
+        if(!containsKey(key)) return false;
+
+        final long oldValue = getValue(key);
+        if(oldValue == newValue) return true;
+        if(containsValue(newValue)) return false;
+
+        remove(byValue, oldValue);
+        remove(byKey, key);
+        insert(byKey, key, newValue);
+        insert(byValue, newValue, key);
+        return true;
+    }
+
+
+    /**
+     * Changes the key of the given value. Does nothing if the value doesn't exist or if the new key belongs to
+     * another value.
+     * @return true if the value now corresponds to the new key
+     */
+    public boolean replaceKey(long value, long newKey) {
+        checkWritable();
+        if(!containsValue(value)) return false;
+
+        final long oldKey = getKey(value);
+        if(oldKey == newKey) return true;
+        if(containsKey(newKey)) return false;
+
+        remove(byKey, oldKey);
+        remove(byValue, value);
+        insert(byValue, value, newKey);
+        insert(byKey, newKey, value);
+        return true;
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    private static long fileSizeFor(int tableLength) {
+        return HEADER_SIZE + 2L * tableLength * SLOT_SIZE;
+    }
+
+
+    private void checkWritable() {
+        if(readOnly) throw new TephriumException("This MappedLongBiMap was opened as read-only.");
+    }
+
+
+    private long getLong(long offset) {
+        return windows[(int) (offset >>> WINDOW_BITS)].getLong((int) (offset & WINDOW_MASK));
+    }
+
+    private void putLong(long offset, long value) {
+        windows[(int) (offset >>> WINDOW_BITS)].putLong((int) (offset & WINDOW_MASK), value);
+    }
+
+    // Header fields are all in the first window
+    private int getInt(int offset) { return windows[0].getInt(offset); }
+    private void putInt(int offset, int value) { windows[0].putInt(offset, value); }
+    private boolean hasFlag(int flag) { return (getInt(FLAGS_OFFSET) & flag) != 0; }
+
+
+    private long slotOffset(long table, int slot) {
+        return table + (long) slot * SLOT_SIZE;
+    }
+
+
+    private void setSlot(long table, int slot, long x, long partner) {
+        final long offset = slotOffset(table, slot);
+        putLong(offset, x);
+        putLong(offset + 8, partner);
+    }
+
+
+    // Fibonacci hashing, the top bits of the product depend on all bits of x
+    private int homeSlot(long x) {
+        return (int) ((x * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+
+    /** @return the slot of x (which can't be 0) or {@code ~slot} of the empty slot where it would be inserted */
+    private int findSlot(long table, long x) {
+        int slot = homeSlot(x);
+        while(true) {
+            final long current = getLong(slotOffset(table, slot));
+            if(current == x) return slot;
+            if(current == 0) return ~slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+
+    // Inserts the (x, partner) pair into the table or into the header, x must not exist in the table
+    private void insert(long table, long x, long partner) {
+        if(x == 0) {
+            final boolean isKey = (table == byKey);
+            putLong(isKey ? ZERO_KEY_VALUE_OFFSET : ZERO_VALUE_KEY_OFFSET, partner);
+            putInt(FLAGS_OFFSET, getInt(FLAGS_OFFSET) | (isKey ? HAS_ZERO_KEY : HAS_ZERO_VALUE));
+            return;
+        }
+
+        setSlot(table, ~findSlot(table, x), x, partner);
+    }
+
+
+    // Removes x (which must exist) from the table or from the header, with backward shift deletion
+    private void remove(long table, long x) {
+        if(x == 0) {
+            putInt(FLAGS_OFFSET, getInt(FLAGS_OFFSET) & ~((table == byKey) ? HAS_ZERO_KEY : HAS_ZERO_VALUE));
+            return;
+        }
+
+        int hole = findSlot(table, x);
+        int slot = (hole + 1) & mask;
+        long current;
+        while((current = getLong(slotOffset(table, slot))) != 0) {
+            final int home = homeSlot(current);
+            // The pair can fill the hole only if the hole is between its home slot and its current slot
+            if(((slot - home) & mask) >= ((slot - hole) & mask)) {
+                setSlot(table, hole, current, getLong(slotOffset(table, slot) + 8));
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        setSlot(table, hole, 0L, 0L);
+    }
+
+
+}
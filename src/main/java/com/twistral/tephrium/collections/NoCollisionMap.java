@@ -17,10 +17,18 @@
 package com.twistral.tephrium.collections;
 
 
+import com.twistral.tephrium.core.TephriumException;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
 
 
 /**
@@ -36,6 +44,9 @@ import java.util.function.BiConsumer;
  */
 public class NoCollisionMap<K, V> {
 
+    // Inputs at least this large fill both directions at the same time in of(...)
+    private static final int PARALLEL_BUILD_THRESHOLD = 1 << 17;
+
     private final HashMap<K, V> mapKeyToValue;
     private final HashMap<V, K> mapValueToKey;
 
@@ -135,6 +146,22 @@ public class NoCollisionMap<K, V> {
     }
 
 
+    /**
+     * Creates an immutable snapshot of this map, that uses much less memory and can be shared between threads
+     * without locks. Later changes of this map don't affect the snapshot.
+     * @return a new {@link FrozenNoCollisionMap} holding the current entries
+     */
+    public FrozenNoCollisionMap<K, V> freeze() {
+        final Object[] keys = new Object[size()], values = new Object[size()];
+        int i = 0;
+        for (Map.Entry<K, V> entry : mapKeyToValue.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        return new FrozenNoCollisionMap<>(keys, values);
+    }
+
+
     /**
      * Returns the key corresponding to the given value.
      * @param value any value to search
@@ -230,5 +257,142 @@ public class NoCollisionMap<K, V> {
     }
 
 
-}
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  BULK LOADING  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
 
+    /**
+     * Creates a map from parallel arrays, where {@code keys[i]} corresponds to {@code values[i]}. The internal maps
+     * are sized for all pairs up front, so they never resize. For very large inputs, both directions are
+     * filled at the same time by two threads.
+     * @param keys any keys
+     * @param values any values, must have the same length as keys
+     * @return a new map holding every pair
+     * @throws TephriumException if the lengths differ or if any pair collides with an earlier one,
+     *                           the message lists every rejected pair
+     */
+    public static <K, V> NoCollisionMap<K, V> of(K[] keys, V[] values) {
+        if(keys.length != values.length)
+            throw new TephriumException("keys and values must have the same length: %d != %d",
+                    keys.length, values.length);
+
+        final NoCollisionMap<K, V> map = new NoCollisionMap<>(tableCapacityFor(keys.length));
+        if(keys.length >= PARALLEL_BUILD_THRESHOLD && map.putAllInParallel(keys, values))
+            return map;
+
+        map.clear();
+        final List<Map.Entry<K, V>> rejected = map.putAll(keys, values);
+        if(!rejected.isEmpty())
+            throw new TephriumException("%d of %d pairs collide with earlier pairs: %s",
+                    rejected.size(), keys.length, rejected);
+        return map;
+    }
+
+
+    /**
+     * Puts every pair of the parallel arrays that doesn't collide with an existing or an earlier pair.
+     * @param keys any keys
+     * @param values any values, must have the same length as keys
+     * @return the rejected pairs in their original order, empty if every pair was put
+     */
+    public List<Map.Entry<K, V>> putAll(K[] keys, V[] values) {
+        if(keys.length != values.length)
+            throw new TephriumException("keys and values must have the same length: %d != %d",
+                    keys.length, values.length);
+
+        final List<Map.Entry<K, V>> rejected = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            if(!putUnchecked(keys[i], values[i]))
+                rejected.add(new AbstractMap.SimpleImmutableEntry<>(keys[i], values[i]));
+        }
+        return rejected;
+    }
+
+
+    /**
+     * Puts every entry of the given map that doesn't collide with an existing or an earlier entry.
+     * @param map any map, its keys are already unique but its values may not be
+     * @return the rejected entries in the iteration order of the given map, empty if every entry was put
+     */
+    public List<Map.Entry<K, V>> putAll(Map<? extends K, ? extends V> map) {
+        final List<Map.Entry<K, V>> rejected = new ArrayList<>();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            if(!putUnchecked(entry.getKey(), entry.getValue()))
+                rejected.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+        }
+        return rejected;
+    }
+
+
+    /**
+     * Returns a collector that collects stream elements into a {@link NoCollisionMap}. Elements are buffered
+     * and the map is built once at the end with {@link #of(Object[], Object[])}, so it is sized only once.
+     * Works with parallel streams.
+     * @param keyMapper function that creates the key of an element
+     * @param valueMapper function that creates the value of an element
+     * @throws TephriumException when the stream finishes, if any pair collides with an earlier pair
+     */
+    public static <T, K, V> Collector<T, ?, NoCollisionMap<K, V>> toNoCollisionMap(
+            Function<? super T, ? extends K> keyMapper, Function<? super T, ? extends V> valueMapper) {
+        return Collector.<T, PairBuffer<K, V>, NoCollisionMap<K, V>>of(
+                PairBuffer::new,
+                (buffer, element) -> {
+                    buffer.keys.add(keyMapper.apply(element));
+                    buffer.values.add(valueMapper.apply(element));
+                },
+                (left, right) -> {
+                    left.keys.addAll(right.keys);
+                    left.values.addAll(right.values);
+                    return left;
+                },
+                PairBuffer::toMap);
+    }
+
+
+    // Accumulation type of toNoCollisionMap
+    private static final class PairBuffer<K, V> {
+        final ArrayList<K> keys = new ArrayList<>();
+        final ArrayList<V> values = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        NoCollisionMap<K, V> toMap() {
+            return of((K[]) keys.toArray(), (V[]) values.toArray());
+        }
+    }
+
+
+    // The bulk methods run one lookup per direction, without put's cross-checks
+    private boolean putUnchecked(final K key, final V value) {
+        if(mapKeyToValue.containsKey(key) || mapValueToKey.containsKey(value))
+            return false;
+
+        mapKeyToValue.put(key, value);
+        mapValueToKey.put(value, key);
+        return true;
+    }
+
+
+    // Fills the empty maps, one per thread. Returns false (with both maps in an unusable state) if any key or
+    // any value repeats, then the pairs have to be put one by one to decide which ones get rejected.
+    private boolean putAllInParallel(final K[] keys, final V[] values) {
+        final CompletableFuture<Boolean> valuesUnique =
+                CompletableFuture.supplyAsync(() -> fillDirection(mapValueToKey, values, keys));
+        final boolean keysUnique = fillDirection(mapKeyToValue, keys, values);
+        return valuesUnique.join() && keysUnique;
+    }
+
+
+    private static <A, B> boolean fillDirection(HashMap<A, B> map, A[] from, B[] to) {
+        for (int i = 0; i < from.length; i++) map.put(from[i], to[i]);
+        return map.size() == from.length;
+    }
+
+
+    // HashMap's capacity argument is a table size, not an entry count
+    private static int tableCapacityFor(int entryCount) {
+        return (int) Math.min(entryCount / 0.75d + 1d, 1 << 30);
+    }
+
+
+}
@@ -16,7 +16,18 @@
 package com.twistral.tephrium.collections;
 
 
+import com.twistral.tephrium.core.TephriumException;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+
+/**
+ * Array utilities. The bulk operations (fill, prefix sums, reductions and copy) split large arrays between the
+ * cores of the common {@link ForkJoinPool}, and use a plain loop for small arrays or when there is only one core.
+ */
 public final class TArrays {
 
     // From https://docs.oracle.com/javase/specs/jls/se21/html/jls-4.html#jls-4.12.5
@@ -25,6 +36,14 @@ public final class TArrays {
     private static final int INT_ARR_DEF_VALUE = 0;
     private static final long LONG_ARR_DEF_VALUE = 0L;
 
+    // Minimum array lengths of the parallel paths. Filling and copying are limited by memory bandwidth and only
+    // gain from more cores on large arrays, reductions and prefix sums do more work per element.
+    private static final int PARALLEL_FILL_THRESHOLD = 1 << 20;
+    private static final int PARALLEL_COPY_THRESHOLD = 1 << 20;
+    private static final int PARALLEL_REDUCE_THRESHOLD = 1 << 18;
+    private static final int PARALLEL_PREFIX_THRESHOLD = 1 << 18;
+    private static final int MIN_CHUNK_LENGTH = 1 << 15;
+
 
     // No Constructor
     private TArrays() {}
@@ -38,29 +57,333 @@ public final class TArrays {
     public static int[] intFilledArray(int size, int fillValue) {
         if(fillValue == INT_ARR_DEF_VALUE) return new int[size];
         int[] arr = new int[size];
-        for(int i = 0; i < size; i++) arr[i] = fillValue;
+        fill(arr, fillValue);
         return arr;
     }
 
     public static float[] floatFilledArray(int size, float fillValue) {
         if(fillValue == FLOAT_ARR_DEF_VALUE) return new float[size];
         float[] arr = new float[size];
-        for(int i = 0; i < size; i++) arr[i] = fillValue;
+        fill(arr, fillValue);
         return arr;
     }
 
     public static double[] doubleFilledArray(int size, double fillValue) {
         if(fillValue == DOUBLE_ARR_DEF_VALUE) return new double[size];
         double[] arr = new double[size];
-        for(int i = 0; i < size; i++) arr[i] = fillValue;
+        fill(arr, fillValue);
         return arr;
     }
 
     public static long[] longFilledArray(int size, long fillValue) {
         if(fillValue == LONG_ARR_DEF_VALUE) return new long[size];
         long[] arr = new long[size];
-        for(int i = 0; i < size; i++) arr[i] = fillValue;
+        fill(arr, fillValue);
         return arr;
     }
 
+
+    /*//////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  FILL  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////*/
+
+
+    public static void fill(int[] arr, int value) {
+        final int length = arr.length;
+        if(!isParallel(length, PARALLEL_FILL_THRESHOLD)) {
+            Arrays.fill(arr, value);
+            return;
+        }
+
+        final int chunks = chunkCount(length);
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                Arrays.fill(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1), value));
+    }
+
+    public static void fill(long[] arr, long value) {
+        final int length = arr.length;
+        if(!isParallel(length, PARALLEL_FILL_THRESHOLD)) {
+            Arrays.fill(arr, value);
+            return;
+        }
+
+        final int chunks = chunkCount(length);
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                Arrays.fill(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1), value));
+    }
+
+    public static void fill(float[] arr, float value) {
+        final int length = arr.length;
+        if(!isParallel(length, PARALLEL_FILL_THRESHOLD)) {
+            Arrays.fill(arr, value);
+            return;
+        }
+
+        final int chunks = chunkCount(length);
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                Arrays.fill(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1), value));
+    }
+
+    public static void fill(double[] arr, double value) {
+        final int length = arr.length;
+        if(!isParallel(length, PARALLEL_FILL_THRESHOLD)) {
+            Arrays.fill(arr, value);
+            return;
+        }
+
+        final int chunks = chunkCount(length);
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                Arrays.fill(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1), value));
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  PREFIX SUMS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Replaces every element with the sum of itself and all elements before it (an inclusive prefix sum), for
+     * example the cumulative frequencies of {@link com.twistral.tephrium.stats.FrequencyDistTable}. The parallel
+     * path of {@code double[]} adds in a different order, so the results can differ in the last bits.
+     */
+    public static void prefixSum(int[] arr) {
+        if(isParallel(arr.length, PARALLEL_PREFIX_THRESHOLD)) Arrays.parallelPrefix(arr, Integer::sum);
+        else for (int i = 1; i < arr.length; i++) arr[i] += arr[i - 1];
+    }
+
+    public static void prefixSum(long[] arr) {
+        if(isParallel(arr.length, PARALLEL_PREFIX_THRESHOLD)) Arrays.parallelPrefix(arr, Long::sum);
+        else for (int i = 1; i < arr.length; i++) arr[i] += arr[i - 1];
+    }
+
+    public static void prefixSum(double[] arr) {
+        if(isParallel(arr.length, PARALLEL_PREFIX_THRESHOLD)) Arrays.parallelPrefix(arr, Double::sum);
+        else for (int i = 1; i < arr.length; i++) arr[i] += arr[i - 1];
+    }
+
+
+    /*////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  REDUCTIONS  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////////*/
+
+
+    /** @return the sum of the elements, as a {@code long} so that large arrays can't overflow */
+    public static long sum(int[] arr) {
+        final int length = arr.length;
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return sumRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToLong(c -> sumRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .sum();
+    }
+
+    public static long sum(long[] arr) {
+        final int length = arr.length;
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return sumRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToLong(c -> sumRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .sum();
+    }
+
+    public static double sum(double[] arr) {
+        final int length = arr.length;
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return sumRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToDouble(c -> sumRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .sum();
+    }
+
+    public static int min(int[] arr) {
+        final int length = arr.length;
+        if(length == 0) throw new TephriumException("Can't find the min of an empty array.");
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return minRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .map(c -> minRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .reduce(Math::min).getAsInt();
+    }
+
+    public static long min(long[] arr) {
+        final int length = arr.length;
+        if(length == 0) throw new TephriumException("Can't find the min of an empty array.");
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return minRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToLong(c -> minRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .reduce(Math::min).getAsLong();
+    }
+
+    /**
+     * Compares like {@link Math#min(double, double)} in both the plain and the parallel path, so the result
+     * doesn't depend on the number of cores.
+     * @return the smallest element, -0.0 is smaller than 0.0 and the result is NaN if any element is NaN
+     */
+    public static double min(double[] arr) {
+        final int length = arr.length;
+        if(length == 0) throw new TephriumException("Can't find the min of an empty array.");
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return minRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToDouble(c -> minRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .reduce(Math::min).getAsDouble();
+    }
+
+    public static int max(int[] arr) {
+        final int length = arr.length;
+        if(length == 0) throw new TephriumException("Can't find the max of an empty array.");
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return maxRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .map(c -> maxRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .reduce(Math::max).getAsInt();
+    }
+
+    public static long max(long[] arr) {
+        final int length = arr.length;
+        if(length == 0) throw new TephriumException("Can't find the max of an empty array.");
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return maxRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToLong(c -> maxRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .reduce(Math::max).getAsLong();
+    }
+
+    /**
+     * Compares like {@link Math#max(double, double)} in both the plain and the parallel path, so the result
+     * doesn't depend on the number of cores.
+     * @return the largest element, -0.0 is smaller than 0.0 and the result is NaN if any element is NaN
+     */
+    public static double max(double[] arr) {
+        final int length = arr.length;
+        if(length == 0) throw new TephriumException("Can't find the max of an empty array.");
+        if(!isParallel(length, PARALLEL_REDUCE_THRESHOLD)) return maxRange(arr, 0, length);
+
+        final int chunks = chunkCount(length);
+        return IntStream.range(0, chunks).parallel()
+                .mapToDouble(c -> maxRange(arr, chunkStart(length, chunks, c), chunkStart(length, chunks, c + 1)))
+                .reduce(Math::max).getAsDouble();
+    }
+
+
+    /*//////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  COPY  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Copies a range like {@link System#arraycopy}, splitting large copies between cores. Overlapping ranges of
+     * the same array are always copied by a single {@link System#arraycopy} call, which handles them correctly.
+     * @param src any primitive or object array
+     * @param dest an array of the same type
+     */
+    public static void copy(Object src, int srcPos, Object dest, int destPos, int length) {
+        if(srcPos < 0 || destPos < 0 || length < 0 || srcPos > Array.getLength(src) - length
+                || destPos > Array.getLength(dest) - length)
+            throw new TephriumException("Invalid range: copying %d elements from index %d to index %d",
+                    length, srcPos, destPos);
+
+        if(src == dest || !isParallel(length, PARALLEL_COPY_THRESHOLD)) {
+            System.arraycopy(src, srcPos, dest, destPos, length);
+            return;
+        }
+
+        final int chunks = chunkCount(length);
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            final int from = chunkStart(length, chunks, c);
+            System.arraycopy(src, srcPos + from, dest, destPos + from, chunkStart(length, chunks, c + 1) - from);
+        });
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    private static boolean isParallel(int length, int threshold) {
+        return length >= threshold && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+
+    // A few chunks per core so that cores that finish early can steal work, but never tiny chunks
+    private static int chunkCount(int length) {
+        return Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, length / MIN_CHUNK_LENGTH));
+    }
+
+
+    private static int chunkStart(int length, int chunks, int chunk) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+
+    private static long sumRange(int[] arr, int from, int to) {
+        long res = 0L;
+        for (int i = from; i < to; i++) res += arr[i];
+        return res;
+    }
+
+    private static long sumRange(long[] arr, int from, int to) {
+        long res = 0L;
+        for (int i = from; i < to; i++) res += arr[i];
+        return res;
+    }
+
+    private static double sumRange(double[] arr, int from, int to) {
+        double res = 0d;
+        for (int i = from; i < to; i++) res += arr[i];
+        return res;
+    }
+
+    private static int minRange(int[] arr, int from, int to) {
+        int res = arr[from];
+        for (int i = from + 1; i < to; i++)
+            if(arr[i] < res) res = arr[i];
+        return res;
+    }
+
+    private static long minRange(long[] arr, int from, int to) {
+        long res = arr[from];
+        for (int i = from + 1; i < to; i++)
+            if(arr[i] < res) res = arr[i];
+        return res;
+    }
+
+    private static double minRange(double[] arr, int from, int to) {
+        double res = arr[from];
+        for (int i = from + 1; i < to; i++) res = Math.min(res, arr[i]);
+        return res;
+    }
+
+    private static int maxRange(int[] arr, int from, int to) {
+        int res = arr[from];
+        for (int i = from + 1; i < to; i++)
+            if(arr[i] > res) res = arr[i];
+        return res;
+    }
+
+    private static long maxRange(long[] arr, int from, int to) {
+        long res = arr[from];
+        for (int i = from + 1; i < to; i++)
+            if(arr[i] > res) res = arr[i];
+        return res;
+    }
+
+    private static double maxRange(double[] arr, int from, int to) {
+        double res = arr[from];
+        for (int i = from + 1; i < to; i++) res = Math.max(res, arr[i]);
+        return res;
+    }
+
+
 }
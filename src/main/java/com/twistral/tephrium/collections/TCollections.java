@@ -16,19 +16,33 @@
 package com.twistral.tephrium.collections;
 
 
+import com.twistral.tephrium.core.TephriumException;
 import com.twistral.tephrium.prng.SplitMix64Random;
 import com.twistral.tephrium.prng.TRandomGenerator;
+import com.twistral.tephrium.prng.TThreadLocalRandom;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
 
 
 public final class TCollections {
 
+    // Parts of parallelShuffle up to this length are shuffled with Fisher-Yates, they fit in the L2 cache
+    private static final int SHUFFLE_BLOCK_LENGTH = 1 << 18;
+    // Every node of parallelShuffle's recursion can use 2^40 values of its RNG without overlapping another node
+    private static final int NODE_SEQUENCE_BITS = 40;
+
     // No Constructor
     private TCollections() {}
 
 
-    private static final TRandomGenerator RAND_SHUFFLE = new SplitMix64Random();
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  SHUFFLE  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
 
     public static void shuffle(List<?> list, TRandomGenerator random) {
         // Same as Collections.shuffle but works with TRandomGenerator
@@ -44,26 +58,199 @@ public final class TCollections {
             return;
         }
 
-
-        for(int i = size; i > 1; i--) {
-            x = random.nextInt(0, i);
-            l.set(x, l.set(i-1, l.get(x)));
-        }
-
+        // get and set are O(n) for sequential lists, so shuffle an array and write it back in one pass.
+        // The array is shuffled in the same order as above, so both paths give the same permutation.
         final Object[] arr = list.toArray();
-        final int arrLen = arr.length;
+        shuffle(arr, random);
         ListIterator it = list.listIterator();
-        for(int i = 0; i < arrLen; i++) {
+        for (Object element : arr) {
             it.next();
-            it.set(arr[i]);
+            it.set(element);
         }
-
     }
 
+    /** Shuffles the list using the calling thread's RNG, see {@link TThreadLocalRandom}. */
     public static void shuffle(List<?> list) {
-        shuffle(list, RAND_SHUFFLE);
+        shuffle(list, TThreadLocalRandom.current());
+    }
+
+
+    /** Shuffles the array with Fisher-Yates, giving the same permutation as a list of the same size would get. */
+    public static void shuffle(int[] arr, TRandomGenerator random) {
+        shuffleRange(arr, 0, arr.length, random);
+    }
+
+    /** @see #shuffle(int[], TRandomGenerator) */
+    public static void shuffle(long[] arr, TRandomGenerator random) {
+        shuffleRange(arr, 0, arr.length, random);
+    }
+
+    /** @see #shuffle(int[], TRandomGenerator) */
+    public static void shuffle(Object[] arr, TRandomGenerator random) {
+        shuffleRange(arr, 0, arr.length, random);
+    }
+
+
+    /**
+     * Shuffles the array on all cores of the common {@link ForkJoinPool} with MergeShuffle (Bacher, Bodini,
+     * Hollender and Lumbroso, <a href="https://arxiv.org/abs/1508.03167">MergeShuffle: A Very Fast, Parallel
+     * Random Permutation Algorithm</a>). The array is halved until the parts fit in the cache, the parts are
+     * shuffled with Fisher-Yates and every two neighbouring parts are merged by random bits, which keeps all
+     * permutations equally likely. <br>
+     * Only one value is taken from the given RNG, and every part derives its own RNG from it and its position.
+     * So the same seed always gives the same permutation, no matter how many cores the machine has. Arrays of
+     * up to 2^18 elements are a single part. On a single core this is about twice as slow as
+     * {@link #shuffle(int[], TRandomGenerator)}, since every level of merges is another pass over the array.
+     */
+    public static void parallelShuffle(int[] arr, TRandomGenerator random) {
+        new MergeShuffleTask(arr, 0, arr.length, random.nextLong(), 1L).invoke();
     }
 
+    /** @see #parallelShuffle(int[], TRandomGenerator) */
+    public static void parallelShuffle(long[] arr, TRandomGenerator random) {
+        new MergeShuffleTask(arr, 0, arr.length, random.nextLong(), 1L).invoke();
+    }
+
+    /** @see #parallelShuffle(int[], TRandomGenerator) */
+    public static void parallelShuffle(Object[] arr, TRandomGenerator random) {
+        new MergeShuffleTask(arr, 0, arr.length, random.nextLong(), 1L).invoke();
+    }
+
+
+    /*//////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  SAMPLING  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Picks {@code k} different elements of the list, every subset of size k being equally likely. Runs a partial
+     * Fisher-Yates shuffle over the indices and only remembers the swapped ones, so the list isn't modified and
+     * this uses O(k) time and memory. Lists that aren't {@link RandomAccess} are sampled in a single pass with
+     * {@link #reservoirSample(Iterator, int, TRandomGenerator)} instead.
+     * @return a new list of k elements, in random order
+     */
+    public static <T> ArrayList<T> sample(List<? extends T> list, int k, TRandomGenerator random) {
+        final int size = list.size();
+        if(k < 0 || k > size)
+            throw new TephriumException("Can't sample %d elements from a list of size %d.", k, size);
+
+        if(!(list instanceof RandomAccess)) {
+            final ArrayList<T> sample = reservoirSample(list.iterator(), k, random);
+            shuffle(sample, random);
+            return sample;
+        }
+
+        // swapped.get(i) is the index that is at position i after the swaps, positions that aren't in the map
+        // still hold their own index
+        final HashMap<Integer, Integer> swapped = new HashMap<>(k * 2);
+        final ArrayList<T> sample = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            final int x = random.nextInt(i, size);
+            final Integer atX = swapped.get(x), atI = swapped.get(i);
+            sample.add(list.get((atX == null) ? x : atX));
+            swapped.put(x, (atI == null) ? i : atI);
+        }
+        return sample;
+    }
+
+
+    /**
+     * Picks {@code k} elements of the iterator uniformly at random in one pass, using O(k) memory, with
+     * Li's Algorithm L (<a href="https://doi.org/10.1145/198429.198435">Reservoir-Sampling Algorithms of
+     * Time Complexity O(n(1 + log(N/n)))</a>). Instead of drawing a random number for every element, it
+     * draws how many elements to skip until the next one that enters the sample, so only O(k log(N/k))
+     * random numbers are needed for N elements. If there are fewer than k elements, all of them are returned.
+     * @return a new list of at most k elements, the order isn't random
+     */
+    public static <T> ArrayList<T> reservoirSample(Iterator<? extends T> it, int k, TRandomGenerator random) {
+        if(k < 0) throw new TephriumException("Invalid sample size (must be >=0): %d", k);
+
+        final ArrayList<T> reservoir = new ArrayList<>(k);
+        while(reservoir.size() < k && it.hasNext()) reservoir.add(it.next());
+        if(k == 0 || !it.hasNext()) return reservoir;
+
+        double w = Math.exp(Math.log(nextOpenDouble(random)) / k);
+        while(true) {
+            long skip = (long) (Math.log(nextOpenDouble(random)) / Math.log1p(-w));
+            while(skip-- > 0L) {
+                if(!it.hasNext()) return reservoir;
+                it.next();
+            }
+            if(!it.hasNext()) return reservoir;
+
+            reservoir.set(random.nextInt(0, k), it.next());
+            w *= Math.exp(Math.log(nextOpenDouble(random)) / k);
+        }
+    }
+
+
+    /** @see #reservoirSample(Iterator, int, TRandomGenerator) */
+    public static <T> ArrayList<T> reservoirSample(Stream<? extends T> stream, int k, TRandomGenerator random) {
+        return reservoirSample(stream.iterator(), k, random);
+    }
+
+
+    /**
+     * Picks {@code k} different elements of the iterator in one pass using O(k) memory, where the chance of
+     * an element to be picked is proportional to its weight, with Efraimidis and Spirakis' A-ExpJ algorithm
+     * (<a href="https://doi.org/10.1016/j.ipl.2005.11.003">Weighted Random Sampling with a Reservoir</a>).
+     * Every element still has to be visited to read its weight, but random numbers are only drawn for the
+     * O(k log(N/k)) elements that enter the sample. Elements with a weight of 0 are never picked.
+     * @param weight the weight of an element, must be >= 0
+     * @return a new list of at most k elements, the order isn't random
+     */
+    public static <T> ArrayList<T> weightedReservoirSample(Iterator<? extends T> it,
+                                                           ToDoubleFunction<? super T> weight,
+                                                           int k, TRandomGenerator random) {
+        if(k < 0) throw new TephriumException("Invalid sample size (must be >=0): %d", k);
+
+        // Uses log(u^(1/w)) = log(u)/w as the key of an element, the k elements with the largest keys form the
+        // sample. The logarithms don't underflow for tiny weights and keep their order.
+        final PriorityQueue<WeightedElement<T>> reservoir = new PriorityQueue<>(Math.max(1, k));
+        while(reservoir.size() < k && it.hasNext()) {
+            final T element = it.next();
+            final double w = checkWeight(weight.applyAsDouble(element));
+            if(w > 0d) reservoir.add(new WeightedElement<>(element, Math.log(nextOpenDouble(random)) / w));
+        }
+
+        if(reservoir.size() == k && k > 0) {
+            double minKey = reservoir.peek().key;
+            double skipWeight = Math.log(nextOpenDouble(random)) / minKey;
+            while(it.hasNext()) {
+                final T element = it.next();
+                final double w = checkWeight(weight.applyAsDouble(element));
+                skipWeight -= w;
+                if(skipWeight > 0d || w == 0d) continue;
+
+                // The key of this element is known to be larger than minKey: u is uniform in (exp(minKey*w), 1)
+                final double low = Math.exp(minKey * w);
+                final double u = low + (1d - low) * nextOpenDouble(random);
+                reservoir.poll();
+                reservoir.add(new WeightedElement<>(element, Math.log(u) / w));
+
+                minKey = reservoir.peek().key;
+                skipWeight = Math.log(nextOpenDouble(random)) / minKey;
+            }
+        }
+
+        final ArrayList<T> sample = new ArrayList<>(reservoir.size());
+        for (WeightedElement<T> element : reservoir) sample.add(element.element);
+        return sample;
+    }
+
+
+    /** @see #weightedReservoirSample(Iterator, ToDoubleFunction, int, TRandomGenerator) */
+    public static <T> ArrayList<T> weightedReservoirSample(Stream<? extends T> stream,
+                                                           ToDoubleFunction<? super T> weight,
+                                                           int k, TRandomGenerator random) {
+        return weightedReservoirSample(stream.iterator(), weight, k, random);
+    }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  FACTORIES  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
 
     public static <T,K> HashMap<T, K> newHashMap(T[] ts, K... ks) {
         if(ts.length != ks.length) return null;
@@ -97,4 +284,209 @@ public final class TCollections {
         return set;
     }
 
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    // A value in (0, 1], so that its logarithm is never -infinity
+    private static double nextOpenDouble(TRandomGenerator random) {
+        return 1d - random.nextDouble();
+    }
+
+
+    private static double checkWeight(double weight) {
+        if(!(weight >= 0d)) throw new TephriumException("Invalid weight (must be >=0): %f", weight);
+        return weight;
+    }
+
+
+    private static final class WeightedElement<T> implements Comparable<WeightedElement<T>> {
+
+        private final T element;
+        private final double key;
+
+        WeightedElement(T element, double key) {
+            this.element = element;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(WeightedElement<T> other) {
+            return Double.compare(key, other.key);
+        }
+
+    }
+
+
+    /**
+     * One node of the MergeShuffle recursion over {@code arr[from, to)}, where arr is an int[], long[] or Object[].
+     * Nodes are numbered like a binary heap (the root is 1, the children of n are 2n and 2n+1), and node n uses
+     * the n'th block of {@code 2^NODE_SEQUENCE_BITS} values of the SplitMix64 sequence of the seed.
+     */
+    private static final class MergeShuffleTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object arr;
+        private final int from, to;
+        private final long seed, node;
+
+        MergeShuffleTask(Object arr, int from, int to, long seed, long node) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.node = node;
+        }
+
+        @Override
+        protected void compute() {
+            final SplitMix64Random random = new SplitMix64Random(seed);
+            random.skip(node << NODE_SEQUENCE_BITS);
+
+            if(to - from <= SHUFFLE_BLOCK_LENGTH) {
+                if(arr instanceof int[]) shuffleRange((int[]) arr, from, to, random);
+                else if(arr instanceof long[]) shuffleRange((long[]) arr, from, to, random);
+                else shuffleRange((Object[]) arr, from, to, random);
+                return;
+            }
+
+            final int mid = (from + to) >>> 1;
+            invokeAll(new MergeShuffleTask(arr, from, mid, seed, 2L * node),
+                    new MergeShuffleTask(arr, mid, to, seed, 2L * node + 1L));
+
+            if(arr instanceof int[]) merge((int[]) arr, from, mid, to, random);
+            else if(arr instanceof long[]) merge((long[]) arr, from, mid, to, random);
+            else merge((Object[]) arr, from, mid, to, random);
+        }
+
+    }
+
+
+    private static void shuffleRange(int[] arr, int from, int to, TRandomGenerator random) {
+        for (int i = to; i > from + 1; i--) {
+            final int x = random.nextInt(from, i);
+            final int temp = arr[x];
+            arr[x] = arr[i - 1];
+            arr[i - 1] = temp;
+        }
+    }
+
+    private static void shuffleRange(long[] arr, int from, int to, TRandomGenerator random) {
+        for (int i = to; i > from + 1; i--) {
+            final int x = random.nextInt(from, i);
+            final long temp = arr[x];
+            arr[x] = arr[i - 1];
+            arr[i - 1] = temp;
+        }
+    }
+
+    private static void shuffleRange(Object[] arr, int from, int to, TRandomGenerator random) {
+        for (int i = to; i > from + 1; i--) {
+            final int x = random.nextInt(from, i);
+            final Object temp = arr[x];
+            arr[x] = arr[i - 1];
+            arr[i - 1] = temp;
+        }
+    }
+
+
+    // Merges the shuffled arr[from, mid) and arr[mid, to) in place: every random bit takes the next element of
+    // either half, and once one half runs out the rest is inserted at random positions, like in Fisher-Yates.
+    private static void merge(int[] arr, int from, int mid, int to, TRandomGenerator random) {
+        int i = from, j = mid, bitCount = 0;
+        long bits = 0L;
+        while(true) {
+            if(bitCount == 0) {
+                bits = random.nextLong();
+                bitCount = 64;
+            }
+            final int takeRight = (int) (bits >>> 63);
+            bits <<= 1;
+            bitCount--;
+
+            // Without branches, random bits would mispredict half of the time: k is j when taking from the
+            // right half and i otherwise (a swap with itself), and that half runs out when k reaches its end
+            final int k = i + ((j - i) & -takeRight);
+            if(k == j + ((to - j) & -takeRight)) break;
+            final int temp = arr[i];
+            arr[i] = arr[k];
+            arr[k] = temp;
+            j += takeRight;
+            i++;
+        }
+
+        for (; i < to; i++) {
+            final int x = random.nextInt(from, i + 1);
+            final int temp = arr[x];
+            arr[x] = arr[i];
+            arr[i] = temp;
+        }
+    }
+
+    private static void merge(long[] arr, int from, int mid, int to, TRandomGenerator random) {
+        int i = from, j = mid, bitCount = 0;
+        long bits = 0L;
+        while(true) {
+            if(bitCount == 0) {
+                bits = random.nextLong();
+                bitCount = 64;
+            }
+            final int takeRight = (int) (bits >>> 63);
+            bits <<= 1;
+            bitCount--;
+
+            // Without branches, random bits would mispredict half of the time: k is j when taking from the
+            // right half and i otherwise (a swap with itself), and that half runs out when k reaches its end
+            final int k = i + ((j - i) & -takeRight);
+            if(k == j + ((to - j) & -takeRight)) break;
+            final long temp = arr[i];
+            arr[i] = arr[k];
+            arr[k] = temp;
+            j += takeRight;
+            i++;
+        }
+
+        for (; i < to; i++) {
+            final int x = random.nextInt(from, i + 1);
+            final long temp = arr[x];
+            arr[x] = arr[i];
+            arr[i] = temp;
+        }
+    }
+
+    private static void merge(Object[] arr, int from, int mid, int to, TRandomGenerator random) {
+        int i = from, j = mid, bitCount = 0;
+        long bits = 0L;
+        while(true) {
+            if(bitCount == 0) {
+                bits = random.nextLong();
+                bitCount = 64;
+            }
+            final int takeRight = (int) (bits >>> 63);
+            bits <<= 1;
+            bitCount--;
+
+            // Without branches, random bits would mispredict half of the time: k is j when taking from the
+            // right half and i otherwise (a swap with itself), and that half runs out when k reaches its end
+            final int k = i + ((j - i) & -takeRight);
+            if(k == j + ((to - j) & -takeRight)) break;
+            final Object temp = arr[i];
+            arr[i] = arr[k];
+            arr[k] = temp;
+            j += takeRight;
+            i++;
+        }
+
+        for (; i < to; i++) {
+            final int x = random.nextInt(from, i + 1);
+            final Object temp = arr[x];
+            arr[x] = arr[i];
+            arr[i] = temp;
+        }
+    }
+
+
 }
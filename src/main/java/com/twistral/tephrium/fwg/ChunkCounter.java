@@ -0,0 +1,312 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.fwg;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static com.twistral.tephrium.fwg.ChunkModel.*;
+
+
+/**
+ * Builds {@link ChunkifiedFWG} frequency arrays from bytes in a single pass, without creating any strings.
+ * Text can be fed in any number of pieces (words can be split between pieces) from byte arrays, buffers,
+ * channels or files, where files are memory-mapped. Bytes are treated as ASCII (so UTF-8 and Latin-1 both work):
+ * ASCII letters are counted case-insensitively, whitespace separates words and every other byte is ignored.
+ * Counters are not thread-safe, but counters filled by different threads can be merged, see
+ * {@link #countParallel(Path, int)}.
+ */
+public class ChunkCounter {
+
+    // Static variables
+    private static final byte SEPARATOR = -1;
+    private static final byte IGNORED = -2;
+    private static final byte[] BYTE_CLASSES = new byte[256];
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+    private static final long MAP_WINDOW_SIZE = 1L << 28;
+
+    static {
+        Arrays.fill(BYTE_CLASSES, IGNORED);
+        for (int i = 0; i < LETTER_COUNT; i++) {
+            BYTE_CLASSES['a' + i] = (byte) i;
+            BYTE_CLASSES['A' + i] = (byte) i;
+        }
+        for (char c : new char[] { ' ', '\t', '\n', '\r', '\f', '\u000B' }) {
+            BYTE_CLASSES[c] = SEPARATOR;
+        }
+    }
+
+    // Instance variables
+    private final int[] frequencies;
+    private int prev1, prev2; // alphabet indexes of the last two letters of the current word, -1 if missing
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /** Creates a counter with all frequencies set to 0. */
+    public ChunkCounter() {
+        this.frequencies = new int[LETTER_COUNT_3];
+        this.prev1 = -1;
+        this.prev2 = -1;
+    }
+
+
+    /*////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  UPDATE  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Counts the chunks of the given bytes. A word that isn't finished at the end of the bytes will be
+     * continued by the next update, call {@link #endWord()} if that's not wanted.
+     * @param bytes any byte array
+     * @param offset index of the first byte to count
+     * @param length number of bytes to count
+     * @return this counter
+     */
+    public ChunkCounter update(byte[] bytes, int offset, int length) {
+        final int[] freqs = frequencies;
+        int p1 = prev1, p2 = prev2;
+
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final int letter = BYTE_CLASSES[bytes[i] & 0xFF];
+            if(letter >= 0) {
+                if(p1 >= 0) freqs[(p1 * LETTER_COUNT_2) + (p2 * LETTER_COUNT) + letter]++;
+                p1 = p2;
+                p2 = letter;
+            }
+            else if(letter == SEPARATOR) {
+                p1 = -1;
+                p2 = -1;
+            }
+        }
+
+        prev1 = p1;
+        prev2 = p2;
+        return this;
+    }
+
+
+    /**
+     * Counts the remaining bytes of the given buffer and moves its position to its limit.
+     * @param buffer any byte buffer, heap or direct (memory-mapped buffers are direct)
+     * @return this counter
+     */
+    public ChunkCounter update(ByteBuffer buffer) {
+        final int pos = buffer.position(), lim = buffer.limit();
+
+        if(buffer.hasArray()) {
+            update(buffer.array(), buffer.arrayOffset() + pos, lim - pos);
+            buffer.position(lim);
+            return this;
+        }
+
+        final int[] freqs = frequencies;
+        int p1 = prev1, p2 = prev2;
+
+        for (int i = pos; i < lim; i++) {
+            final int letter = BYTE_CLASSES[buffer.get(i) & 0xFF];
+            if(letter >= 0) {
+                if(p1 >= 0) freqs[(p1 * LETTER_COUNT_2) + (p2 * LETTER_COUNT) + letter]++;
+                p1 = p2;
+                p2 = letter;
+            }
+            else if(letter == SEPARATOR) {
+                p1 = -1;
+                p2 = -1;
+            }
+        }
+
+        prev1 = p1;
+        prev2 = p2;
+        buffer.position(lim);
+        return this;
+    }
+
+
+    /**
+     * Reads the given channel until its end and counts everything, using a fixed size buffer.
+     * The channel is not closed.
+     * @param channel any readable channel, for example a socket or {@link java.nio.channels.Channels#newChannel}
+     * @return this counter
+     * @throws IOException if the channel throws it
+     */
+    public ChunkCounter update(ReadableByteChannel channel) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        while(channel.read(buffer) != -1) {
+            buffer.flip();
+            update(buffer);
+            buffer.clear();
+        }
+        return this;
+    }
+
+
+    /**
+     * Counts the whole file. Regular files are memory-mapped, so the file is never copied into the heap.
+     * Other files (like pipes) are read as a channel.
+     * @param path path of the file
+     * @return this counter
+     * @throws IOException if the file can not be read
+     */
+    public ChunkCounter update(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(!Files.isRegularFile(path)) return update(channel);
+            return update(channel, 0L, channel.size());
+        }
+    }
+
+
+    // Maps [from, to) in windows since a single mapping can't be larger than 2GB
+    private ChunkCounter update(FileChannel channel, long from, long to) throws IOException {
+        for (long pos = from; pos < to; pos += MAP_WINDOW_SIZE) {
+            update(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAP_WINDOW_SIZE, to - pos)));
+        }
+        return this;
+    }
+
+
+    /**
+     * Ends the current word, so the next update starts a new word. Useful when
+     * counting many files with the same counter.
+     * @return this counter
+     */
+    public ChunkCounter endWord() {
+        prev1 = -1;
+        prev2 = -1;
+        return this;
+    }
+
+
+    /*///////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  MERGE  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Adds the given frequency array to this counter's frequencies.
+     * @param frequencies a frequency array, for example one created by the {@code freqFrom...}
+     *                    methods of {@link ChunkifiedFWG}
+     * @return this counter
+     */
+    public ChunkCounter merge(int[] frequencies) {
+        if(frequencies.length != LETTER_COUNT_3)
+            throw new TephriumException("Invalid frequency array length (must be %d): %d",
+                    LETTER_COUNT_3, frequencies.length);
+
+        for (int i = 0; i < LETTER_COUNT_3; i++) this.frequencies[i] += frequencies[i];
+        return this;
+    }
+
+
+    /**
+     * Adds the other counter's frequencies to this counter's frequencies. The other counter is not changed.
+     * @param other any other counter
+     * @return this counter
+     */
+    public ChunkCounter merge(ChunkCounter other) {
+        return merge(other.frequencies);
+    }
+
+
+    /**
+     * Counts the given file in parallel. The file is divided into {@code parts} regions whose boundaries are moved
+     * to the next whitespace, so no word is split between regions. Every region is memory-mapped and counted by
+     * its own counter, then all counters are merged. The result is the same as {@link #update(Path)}.
+     * @param path path of a regular file
+     * @param parts number of regions, usually the number of available processors
+     * @return a counter that holds the frequencies of the whole file
+     * @throws IOException if the file can not be read
+     */
+    public static ChunkCounter countParallel(Path path, int parts) throws IOException {
+        if(parts <= 0) throw new TephriumException("Invalid parts value (must be >0): %d", parts);
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long[] bounds = new long[parts + 1];
+            bounds[parts] = size;
+            for (int i = 1; i < parts; i++) {
+                bounds[i] = nextSeparator(channel, Math.max(bounds[i-1], size / parts * i), size);
+            }
+
+            final ChunkCounter[] counters;
+            try {
+                counters = IntStream.range(0, parts).parallel()
+                        .mapToObj(i -> {
+                            try {
+                                return new ChunkCounter().update(channel, bounds[i], bounds[i+1]);
+                            }
+                            catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        })
+                        .toArray(ChunkCounter[]::new);
+            }
+            catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            for (int i = 1; i < parts; i++) counters[0].merge(counters[i]);
+            return counters[0];
+        }
+    }
+
+
+    private static long nextSeparator(FileChannel channel, long from, long size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long pos = from;
+        while(pos < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, pos);
+            if(read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if(BYTE_CLASSES[buffer.get(i) & 0xFF] == SEPARATOR) return pos + i;
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  GETTERS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /** @return a copy of the frequencies counted so far, can be passed to {@link ChunkifiedFWG}'s constructors */
+    public int[] getFrequencies() { return frequencies.clone(); }
+
+    /** @return a model compiled from the frequencies counted so far */
+    public ChunkModel toModel() { return new ChunkModel(frequencies); }
+
+
+}
@@ -0,0 +1,179 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.fwg;
+
+
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.prng.AliasSampler;
+import com.twistral.tephrium.prng.TRandomGenerator;
+
+import java.util.Arrays;
+
+import static com.twistral.tephrium.strings.TStringUtils.CS_ASCII_LOWER;
+
+
+/**
+ * A compiled version of a {@link ChunkifiedFWG} frequency array. Every distribution that word generation
+ * needs is turned into an {@link AliasSampler} once, so generating a word takes O(length) time no matter how
+ * big the frequency array is. Models are immutable, so a single model can be shared by any number of
+ * {@link ChunkifiedFWG} instances. Compiling a model is not free, so reuse them whenever possible.
+ */
+public class ChunkModel {
+
+    // Static variables
+    static final int LETTER_COUNT = CS_ASCII_LOWER.length();
+    static final int LETTER_COUNT_2 = LETTER_COUNT * LETTER_COUNT;
+    static final int LETTER_COUNT_3 = LETTER_COUNT_2 * LETTER_COUNT;
+
+    // Instance variables
+    private final int[] frequencies;
+    private final AliasSampler firstLetterSampler;   // c1, weighted by the total frequency of chunks starting with it
+    private final AliasSampler[] startSamplers;      // [c1] -> c2 * 26 + c3
+    private final AliasSampler[] nextLetterSamplers; // [c1 * 26 + c2] -> c3
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Compiles the given frequency array into a model. The array is copied, so changing it later won't
+     * change this model. Samplers of chunk groups that never appear are left out, meaning that
+     * the words which would need them can not be generated.
+     * @param frequencies a frequency array created by one of the {@code freqFrom...} methods of {@link ChunkifiedFWG}
+     */
+    public ChunkModel(int[] frequencies) {
+        if(frequencies.length != LETTER_COUNT_3)
+            throw new TephriumException("Invalid frequency array length (must be %d): %d",
+                    LETTER_COUNT_3, frequencies.length);
+
+        this.frequencies = frequencies.clone();
+        this.startSamplers = new AliasSampler[LETTER_COUNT];
+        this.nextLetterSamplers = new AliasSampler[LETTER_COUNT_2];
+
+        final double[] firstLetterWeights = new double[LETTER_COUNT];
+        double totalFrequency = 0d;
+        for (int c1 = 0; c1 < LETTER_COUNT; c1++) {
+            firstLetterWeights[c1] = sumOfRange(c1 * LETTER_COUNT_2, LETTER_COUNT_2);
+            totalFrequency += firstLetterWeights[c1];
+            startSamplers[c1] = samplerOfRange(c1 * LETTER_COUNT_2, LETTER_COUNT_2);
+        }
+        for (int bigram = 0; bigram < LETTER_COUNT_2; bigram++) {
+            nextLetterSamplers[bigram] = samplerOfRange(bigram * LETTER_COUNT, LETTER_COUNT);
+        }
+
+        this.firstLetterSampler = (totalFrequency > 0d) ? new AliasSampler(firstLetterWeights) : null;
+    }
+
+
+    private long sumOfRange(int offset, int count) {
+        long sum = 0L;
+        for (int i = offset; i < offset + count; i++) sum += frequencies[i];
+        return sum;
+    }
+
+
+    private AliasSampler samplerOfRange(int offset, int count) {
+        if(sumOfRange(offset, count) == 0L) return null;
+        return new AliasSampler(Arrays.copyOfRange(frequencies, offset, offset + count));
+    }
+
+
+    // Holder idiom: compiled once, by whichever thread needs it first
+    private static final class CorpusModel {
+        static final ChunkModel MODEL = new ChunkModel(ChunkifiedFWG.freqFromCorpus());
+    }
+
+
+    /** @return the model of {@link ChunkifiedFWG#freqFromCorpus()}, which is compiled only once */
+    public static ChunkModel fromCorpus() {
+        return CorpusModel.MODEL;
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Draws the first chunk of a word.
+     * @param firstLetter alphabet index of the first letter or -1 if the first letter can be anything
+     * @return the drawn chunk's index ({@code c1 * 26^2 + c2 * 26 + c3}) or -1 if no chunk starts with firstLetter
+     */
+    int sampleStartChunk(int firstLetter, TRandomGenerator random) {
+        if(firstLetter == -1) {
+            if(firstLetterSampler == null) return -1;
+            firstLetter = firstLetterSampler.sample(random);
+        }
+
+        final AliasSampler sampler = startSamplers[firstLetter];
+        if(sampler == null) return -1;
+        return (firstLetter * LETTER_COUNT_2) + sampler.sample(random);
+    }
+
+
+    /**
+     * Draws the letter that comes after the given two letters.
+     * @return alphabet index of the drawn letter or -1 if no chunk starts with c1 and c2
+     */
+    int sampleNextLetter(int c1, int c2, TRandomGenerator random) {
+        final AliasSampler sampler = nextLetterSamplers[(c1 * LETTER_COUNT) + c2];
+        if(sampler == null) return -1;
+        return sampler.sample(random);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  GETTERS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /** @return a copy of the frequency array this model was compiled from */
+    public int[] getFrequencies() { return frequencies.clone(); }
+
+
+    /*/////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  OBJ METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////////*/
+
+
+    @Override
+    public String toString() {
+        return "ChunkModel{" + "frequencies=" + Arrays.toString(frequencies) + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+        ChunkModel that = (ChunkModel) o;
+        return Arrays.equals(frequencies, that.frequencies);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(frequencies);
+    }
+
+
+}
@@ -17,34 +17,40 @@
 package com.twistral.tephrium.fwg;
 
 
-import static com.twistral.tephrium.core.TephriumException.*;
 import com.twistral.tephrium.core.functions.TMath;
+import com.twistral.tephrium.prng.RNGUtils;
 import com.twistral.tephrium.prng.SplitMix64Random;
 import com.twistral.tephrium.prng.TRandomGenerator;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.*;
 
+import static com.twistral.tephrium.fwg.ChunkModel.LETTER_COUNT;
+import static com.twistral.tephrium.fwg.ChunkModel.LETTER_COUNT_2;
+import static com.twistral.tephrium.fwg.ChunkModel.LETTER_COUNT_3;
 import static com.twistral.tephrium.strings.TStringUtils.*;
 
 
 /**
  * Uses 3-grams ("chunks") to generate words. This FWG is one of the most reliable FWG's out there
- * if and only if the given data (frequency array) is large (populated) enough.
+ * if and only if the given data (frequency array) is large (populated) enough. <br>
+ * The frequency array lives in an immutable {@link ChunkModel} that can be shared between threads, the only
+ * mutable state of an instance is its RNG. So either give every thread its own instance (they are cheap if they
+ * share a model), or pass a per-thread RNG to {@link #generateFakeWord(int, char, TRandomGenerator)}.
+ * {@link #generateFakeWords(int, int)} generates words in parallel.
  */
 public class ChunkifiedFWG {
 
     // Static variables
-    private static final int LETTER_COUNT = CS_ASCII_LOWER.length();
-    private static final int LETTER_COUNT_2 = LETTER_COUNT * LETTER_COUNT;
-    private static final int LETTER_COUNT_3 = LETTER_COUNT_2 * LETTER_COUNT;
     public static final int DEF_REWIND_LIMIT = 200;
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
 
     // Instance variables
     private final TRandomGenerator random;
-    private final int[] frequencies;
+    private final ChunkModel model;
     private final int rewindLimit;
-    private char cret1, cret2, cret3;
 
 
     /*//////////////////////////////////////////////////////////////////////*/
@@ -52,19 +58,33 @@ public class ChunkifiedFWG {
     /*//////////////////////////////////////////////////////////////////////*/
 
 
+    /**
+     * Creates a {@link ChunkifiedFWG} instance, using the given model, RNG and rewindLimit.
+     * @param model compiled frequency array, can be shared by any number of {@link ChunkifiedFWG} instances
+     * @param random any random number generator
+     * @param rewindLimit an integer specifying how many times rewinding will happen (rewinding means how
+     *                    many times fake word generation will be tried when the corpus is not large enough)
+     */
+    public ChunkifiedFWG(ChunkModel model, TRandomGenerator random, int rewindLimit) {
+        this.rewindLimit = rewindLimit;
+        this.random = random;
+        this.model = model;
+    }
+
+
     /**
      * Creates a {@link ChunkifiedFWG} instance, using the given frequency array, RNG and rewindLimit. <br>
      * To generate frequency arrays use one of these methods: {@link #freqFromBookContent(String)},
-     * {@link #freqFromCorpus()}, {@link #freqFromWords(Stream)}.
+     * {@link #freqFromCorpus()}, {@link #freqFromWords(Stream)}. The frequency array is compiled into a
+     * {@link ChunkModel}, so if many instances use the same array, create the model once and use
+     * {@link #ChunkifiedFWG(ChunkModel, TRandomGenerator, int)} instead.
      * @param frequencies frequency array that will be used to generate chunks
      * @param random any random number generator
      * @param rewindLimit an integer specifying how many times rewinding will happen (rewinding means how
      *                    many times fake word generation will be tried when the corpus is not large enough)
      */
     public ChunkifiedFWG(int[] frequencies, TRandomGenerator random, int rewindLimit) {
-        this.rewindLimit = rewindLimit;
-        this.random = random;
-        this.frequencies = frequencies;
+        this(new ChunkModel(frequencies), random, rewindLimit);
     }
 
 
@@ -76,7 +96,7 @@ public class ChunkifiedFWG {
 
     /** @see ChunkifiedFWG#ChunkifiedFWG(int[], TRandomGenerator, int) */
     public ChunkifiedFWG() {
-        this(freqFromCorpus(), new SplitMix64Random(), DEF_REWIND_LIMIT);
+        this(ChunkModel.fromCorpus(), new SplitMix64Random(), DEF_REWIND_LIMIT);
     }
 
 
@@ -85,12 +105,11 @@ public class ChunkifiedFWG {
     /*/////////////////////////////////////////////////////////////////////*/
 
 
-    private static int[] corpusFreqs = null;
-
+    // Holder idiom: the corpus is counted once, by whichever thread needs it first
+    private static final class CorpusFreqs {
+        static final int[] FREQS = new int[LETTER_COUNT_3];
 
-    public static int[] freqFromCorpus() {
-        if(corpusFreqs == null) {
-            corpusFreqs = new int[LETTER_COUNT_3];
+        static {
             for (String[] corpusPart : EnglishCorpus.ws) {
                 Arrays.stream(corpusPart).forEach(word -> {
                     final int iterCount = word.length() - 3;
@@ -99,13 +118,16 @@ public class ChunkifiedFWG {
                         int cj = CS_ASCII_LOWER.indexOf(word.charAt(i+1));
                         int ck = CS_ASCII_LOWER.indexOf(word.charAt(i+2));
                         final int arri = ci * LETTER_COUNT_2 + cj * LETTER_COUNT + ck;
-                        corpusFreqs[arri] += 1;
+                        FREQS[arri] += 1;
                     }
                 });
             }
         }
+    }
 
-        return corpusFreqs;
+
+    public static int[] freqFromCorpus() {
+        return CorpusFreqs.FREQS;
     }
 
 
@@ -120,7 +142,8 @@ public class ChunkifiedFWG {
      * Creates a frequency array using the given string. This string can be any long string. If non-ascii
      * or non-space characters exist, they will automatically be ignored. So just get some very long string
      * from any source and pass it into this function. Ideally, this string can be a public domain book content
-     * to generate words.
+     * to generate words. For large inputs (or files) use {@link #freqFromFile(Path)} or {@link ChunkCounter},
+     * which count the chunks without copying or splitting the content.
      * @param bookContent any length of string with any included characters, all non-ascii and non-space characters
      *                    will automatically be ignored and wont break the function
      * @return frequency array that corresponds to the given bookContent
@@ -141,6 +164,19 @@ public class ChunkifiedFWG {
     }
 
 
+    /**
+     * Creates a frequency array from the given text file in a single pass. The file is memory-mapped and never
+     * loaded into the heap, so this works for corpora larger than the heap. ASCII letters are counted,
+     * whitespace separates words and all other bytes are ignored. See {@link ChunkCounter} for more options.
+     * @param path path of a text file (ASCII, UTF-8 or Latin-1)
+     * @return frequency array that corresponds to the given file
+     * @throws IOException if the file can not be read
+     */
+    public static int[] freqFromFile(Path path) throws IOException {
+        return new ChunkCounter().update(path).getFrequencies();
+    }
+
+
     private static void fillFrequencyArray(int[] frequencies, Stream<String> stream) {
         stream.forEach(word -> {
             if(word.length() < 3) return; // Word must be longer than 3 letters
@@ -178,36 +214,46 @@ public class ChunkifiedFWG {
      * @return a generated fake word or null if the frequency array is not large enough
      */
     public String generateFakeWord(int length, char charStart) {
-        if(length < 3) return "";
-
-        final char[] result = new char[length];
-        final int iterCount = length - 3;
-        int rewindCounter = 0;
+        return generateFakeWord(length, charStart, random);
+    }
 
-        while(rewindCounter < rewindLimit) {
-            int resIndex = 0;
 
-            if(!getRandomChunk(charStart, CNULL)) {
-                rewindCounter++;
-                continue;
-            }
-            result[resIndex++] = cret1;
-            result[resIndex++] = cret2;
-            result[resIndex++] = cret3;
+    /**
+     * Same as {@link #generateFakeWord(int, char)} but uses the given RNG instead of this instance's RNG.
+     * This method doesn't change this instance, so it can be called by many threads at the same time,
+     * as long as every thread uses its own RNG (for example {@link com.twistral.tephrium.prng.TThreadLocalRandom}).
+     * @param length length of the generated fake word
+     * @param charStart the initial character of the generated fake word
+     * @param random any random number generator
+     * @return a generated fake word or null if the frequency array is not large enough
+     */
+    public String generateFakeWord(int length, char charStart, TRandomGenerator random) {
+        if(length < 3) return "";
 
-            for (int i = 0; i < iterCount; i++) {
-                if(!getRandomChunk(cret2, cret3)) {
-                    rewindCounter++;
-                    continue;
-                }
+        final int firstLetter = (charStart == CNULL) ? -1 : TMath.max(0, CS_ASCII_LOWER.indexOf(charStart));
+        final char[] result = new char[length];
 
-                result[resIndex++] = cret3;
+        rewinding:
+        for (int rewindCounter = 0; rewindCounter < rewindLimit; rewindCounter++) {
+            final int chunk = model.sampleStartChunk(firstLetter, random);
+            if(chunk == -1) continue;
+
+            int c1 = chunk / LETTER_COUNT_2;
+            int c2 = (chunk / LETTER_COUNT) % LETTER_COUNT;
+            int c3 = chunk % LETTER_COUNT;
+            result[0] = CS_ASCII_LOWER.charAt(c1);
+            result[1] = CS_ASCII_LOWER.charAt(c2);
+            result[2] = CS_ASCII_LOWER.charAt(c3);
+
+            for (int i = 3; i < length; i++) {
+                c1 = c2;
+                c2 = c3;
+                c3 = model.sampleNextLetter(c1, c2, random);
+                // Dead end, no chunk starts with c1 and c2, so start over
+                if(c3 == -1) continue rewinding;
+                result[i] = CS_ASCII_LOWER.charAt(c3);
             }
 
-            break;
-        }
-
-        if(rewindCounter < rewindLimit) {
             return new String(result);
         }
 
@@ -218,61 +264,49 @@ public class ChunkifiedFWG {
 
     /** @see #generateFakeWord(int, char) */
     public String generateFakeWord(int length) {
-        return generateFakeWord(length, getRandCharFrom(CS_ASCII_LOWER, random));
+        return generateFakeWord(length, getRandCharFrom(CS_ASCII_LOWER, random), random);
     }
 
 
-    private static final ArrayList<Integer> POSSIBLE_INDEXES = new ArrayList<>(LETTER_COUNT * 10);
-
-
-    private boolean getRandomChunk(char c1, char c2) {
-        POSSIBLE_INDEXES.clear();
-        int totalFreq = 0;
+    /**
+     * Generates {@code count} fake words in parallel, using the common {@link java.util.concurrent.ForkJoinPool}
+     * (or the pool this method is called from). Only a single long is drawn from this instance's RNG, every word
+     * then gets its own {@link SplitMix64Random} seeded from that long and the word's index. So the result
+     * only depends on this instance's RNG, never on the number of threads or on how the work was split.
+     * @param count number of words to generate
+     * @param length length of the generated fake words
+     * @param charStart the initial character of the generated fake words
+     * @return an array of generated fake words, an element is null if the frequency array was not large enough
+     * @see #generateFakeWord(int, char)
+     */
+    public String[] generateFakeWords(int count, int length, char charStart) {
+        return generateFakeWords(count, length, charStart, false);
+    }
 
-        // The following loops are written in a way that will work like this:
-        //   if c1 is given (not CNULL), the first while loop will only work once since we know c1
-        //   if c2 is given (not CNULL), the second while loop will only work once since we know c2
-        //   If any of them are missing, we will iterate inside the while loops
-        int i = TMath.max(0, CS_ASCII_LOWER.indexOf(c1));
-        int j = TMath.max(0, CS_ASCII_LOWER.indexOf(c2));
-        while(i < LETTER_COUNT) {
-            while(j < LETTER_COUNT) {
-                for (int k = 0; k < LETTER_COUNT; k++) {
-                    final int index = (i * LETTER_COUNT_2) + (j * LETTER_COUNT) + k;
-                    final int freq = frequencies[index];
-                    if(freq > 0) {
-                        totalFreq += freq;
-                        POSSIBLE_INDEXES.add(index);
-                    }
-                }
 
-                if(c2 == CNULL) j++;
-                else break;
-            }
-            if(c1 == CNULL) i++;
-            else break;
-        }
+    /**
+     * Same as {@link #generateFakeWords(int, int, char)} but every word starts with a random letter.
+     * @param count number of words to generate
+     * @param length length of the generated fake words
+     * @return an array of generated fake words, an element is null if the frequency array was not large enough
+     */
+    public String[] generateFakeWords(int count, int length) {
+        return generateFakeWords(count, length, CNULL, true);
+    }
 
-        // No matching chunk was found
-        if(totalFreq == 0)
-            return false;
 
-        int randFreq = random.nextInt(0, totalFreq+1);
-        for(int curIndex : POSSIBLE_INDEXES) {
-            int curFreq = frequencies[curIndex];
-            if(randFreq <= curFreq) {
-                // Matching chunk was found!
-                this.cret1 = CS_ASCII_LOWER.charAt(curIndex / (LETTER_COUNT * LETTER_COUNT));
-                curIndex %= LETTER_COUNT * LETTER_COUNT;
-                this.cret2 = CS_ASCII_LOWER.charAt(curIndex / LETTER_COUNT);
-                this.cret3 = CS_ASCII_LOWER.charAt(curIndex % LETTER_COUNT);
-                return true;
-            }
+    private String[] generateFakeWords(int count, int length, char charStart, boolean randomCharStart) {
+        final String[] words = new String[count];
+        final long baseSeed = random.nextLong();
 
-            randFreq -= curFreq;
-        }
+        IntStream.range(0, count).parallel().forEach(i -> {
+            final TRandomGenerator wordRandom =
+                    new SplitMix64Random(RNGUtils.mix64Murmur3(baseSeed + SEED_GAMMA * i));
+            final char wordCharStart = randomCharStart ? getRandCharFrom(CS_ASCII_LOWER, wordRandom) : charStart;
+            words[i] = generateFakeWord(length, wordCharStart, wordRandom);
+        });
 
-        throw new UnreachableException();
+        return words;
     }
 
 
@@ -283,6 +317,7 @@ public class ChunkifiedFWG {
 
     public int getRewindLimit() { return rewindLimit; }
     public TRandomGenerator getRandom() { return random; }
+    public ChunkModel getModel() { return model; }
 
 
     /*/////////////////////////////////////////////////////////////////////*/
@@ -292,8 +327,7 @@ public class ChunkifiedFWG {
 
     @Override
     public String toString() {
-        return "ChunkifiedFWG{" + "random=" + random + ", frequencies=" + Arrays.toString(frequencies) +
-            ", rewindLimit=" + rewindLimit + ", cret1=" + cret1 + ", cret2=" + cret2 + ", cret3=" + cret3 + '}';
+        return "ChunkifiedFWG{" + "random=" + random + ", model=" + model + ", rewindLimit=" + rewindLimit + '}';
     }
 
     @Override
@@ -305,16 +339,13 @@ public class ChunkifiedFWG {
             return false;
         }
         ChunkifiedFWG that = (ChunkifiedFWG) o;
-        return (rewindLimit == that.rewindLimit) && (cret1 == that.cret1) &&
-            (cret2 == that.cret2) && (cret3 == that.cret3) &&
-            Objects.equals(random, that.random) && Arrays.equals(frequencies, that.frequencies);
+        return (rewindLimit == that.rewindLimit) &&
+            Objects.equals(random, that.random) && Objects.equals(model, that.model);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(random, rewindLimit, cret1, cret2, cret3);
-        result = (31 * result) + Arrays.hashCode(frequencies);
-        return result;
+        return Objects.hash(random, model, rewindLimit);
     }
 
 
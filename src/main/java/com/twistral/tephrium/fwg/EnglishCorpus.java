@@ -17,6 +17,7 @@ package com.twistral.tephrium.fwg;
 
 
 import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.prng.AliasSampler;
 import com.twistral.tephrium.prng.SplitMix64Random;
 import com.twistral.tephrium.prng.TRandomGenerator;
 import com.twistral.tephrium.strings.TStringUtils;
@@ -25,7 +26,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
-import com.twistral.tephrium.core.TephriumException.UnreachableException;
 import static com.twistral.tephrium.strings.TStringUtils.CS_ASCII_LOWER;
 import static com.twistral.tephrium.fwg.EnglishCorpusData.*;
 
@@ -49,6 +49,10 @@ public class EnglishCorpus {
             CP_S.L, CP_T.L, CP_U.L, CP_V.L, CP_W.L, CP_X.L, CP_Y.L, CP_Z.L
     };
 
+    // Picking a letter weighted by its word count and then a word of that letter is the same
+    // as picking a word uniformly out of all words, but without scanning the letters
+    private static final AliasSampler LETTER_SAMPLER = new AliasSampler(ls);
+
 
     public static String randomWordStartingWith(char c, TRandomGenerator random) {
         final int alphabetIndex = CS_ASCII_LOWER.indexOf(Character.toLowerCase(c));
@@ -58,13 +62,8 @@ public class EnglishCorpus {
 
 
     public static String randomWord(TRandomGenerator random) {
-        int randIndex = random.nextInt(0, TOTAL_WORD_COUNT);
-        for (int alphaIndex = 0; alphaIndex < ls.length; alphaIndex++) {
-            if(randIndex < ls[alphaIndex])
-                return ws[alphaIndex][randIndex];
-            randIndex -= ls[alphaIndex];
-        }
-        throw new UnreachableException();
+        final int alphabetIndex = LETTER_SAMPLER.sample(random);
+        return ws[alphabetIndex][random.nextInt(0, ls[alphabetIndex])];
     }
 
 }
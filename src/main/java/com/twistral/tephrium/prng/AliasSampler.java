@@ -0,0 +1,192 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.prng;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import java.util.Arrays;
+
+
+/**
+ * Draws indexes from a discrete distribution in constant time using Walker's alias method (Vose's variant).
+ * Index {@code i} is drawn with probability {@code weights[i] / sum(weights)}. Building the table takes O(k)
+ * time and every draw takes one bounded integer and one double from the given RNG, no matter how many
+ * weights there are. Instances are immutable so one sampler can be shared by many threads, as long as
+ * every thread uses its own RNG.
+ */
+public class AliasSampler {
+
+    // Column i returns i with probability probabilities[i] and aliases[i] otherwise
+    private final double[] probabilities;
+    private final int[] aliases;
+    private final double[] normalizedWeights;
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Creates an alias table for the given weights. Weights don't need to sum up to 1, they only need to be
+     * finite, non-negative and at least one of them must be positive. Zero weights are never drawn.
+     * @param weights the relative weights of the indexes, this array is not modified or referenced later
+     */
+    public AliasSampler(double[] weights) {
+        final int n = weights.length;
+        if(n == 0) throw new TephriumException("The weights array can not be empty.");
+
+        double total = 0d;
+        for (int i = 0; i < n; i++) {
+            final double w = weights[i];
+            if(!(w >= 0d) || Double.isInfinite(w))
+                throw new TephriumException("Invalid weight (must be finite and >=0): weights[%d]=%f", i, w);
+            total += w;
+        }
+        if(!(total > 0d) || Double.isInfinite(total))
+            throw new TephriumException("Invalid sum of weights (must be finite and >0): %f", total);
+
+        this.probabilities = new double[n];
+        this.aliases = new int[n];
+        this.normalizedWeights = new double[n];
+
+        // Scaled so that the average column is exactly 1
+        final double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) {
+            normalizedWeights[i] = weights[i] / total;
+            scaled[i] = normalizedWeights[i] * n;
+        }
+
+        // Both worklists share one array: "small" grows from the start, "large" grows from the end
+        final int[] work = new int[n];
+        int smallTop = 0, largeTop = n;
+        for (int i = 0; i < n; i++) {
+            if(scaled[i] < 1d) work[smallTop++] = i;
+            else work[--largeTop] = i;
+        }
+
+        while(smallTop > 0 && largeTop < n) {
+            final int small = work[--smallTop];
+            final int large = work[largeTop++];
+            probabilities[small] = scaled[small];
+            aliases[small] = large;
+
+            // The large one gives away the missing part of the small column
+            scaled[large] = (scaled[large] + scaled[small]) - 1d;
+            if(scaled[large] < 1d) work[smallTop++] = large;
+            else work[--largeTop] = large;
+        }
+
+        // Whatever is left must be 1, anything else is a floating point rounding error
+        while(largeTop < n) {
+            final int i = work[largeTop++];
+            probabilities[i] = 1d;
+            aliases[i] = i;
+        }
+        while(smallTop > 0) {
+            final int i = work[--smallTop];
+            probabilities[i] = 1d;
+            aliases[i] = i;
+        }
+    }
+
+
+    /**
+     * Same as {@link #AliasSampler(double[])} but takes integer weights such as counts or frequencies.
+     * @param weights the relative weights of the indexes, this array is not modified or referenced later
+     */
+    public AliasSampler(int[] weights) {
+        this(toDoubles(weights));
+    }
+
+
+    private static double[] toDoubles(int[] weights) {
+        final double[] arr = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) arr[i] = weights[i];
+        return arr;
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Draws an index in O(1) time.
+     * @param random any random number generator
+     * @return an index in {@code [0, size())}, distributed according to the weights
+     */
+    public int sample(TRandomGenerator random) {
+        final int column = random.nextInt(0, probabilities.length);
+        return (random.nextDouble() < probabilities[column]) ? column : aliases[column];
+    }
+
+
+    /**
+     * Fills the given array with indexes drawn by {@link #sample(TRandomGenerator)}.
+     * @param arr any integer array
+     * @param random any random number generator
+     */
+    public void fill(int[] arr, TRandomGenerator random) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = sample(random);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  GETTERS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /** @return the number of indexes (weights) this sampler draws from */
+    public int size() { return probabilities.length; }
+
+    /** @return the probability of drawing the given index, which is its weight divided by the sum of weights */
+    public double getProbability(int index) { return normalizedWeights[index]; }
+
+
+    /*/////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  OBJ METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////////*/
+
+
+    @Override
+    public String toString() {
+        return "AliasSampler{" + "probabilities=" + Arrays.toString(normalizedWeights) + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+        AliasSampler that = (AliasSampler) o;
+        return Arrays.equals(normalizedWeights, that.normalizedWeights);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(normalizedWeights);
+    }
+
+
+}
@@ -0,0 +1,195 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.twistral.tephrium.prng;
+
+
+import static com.twistral.tephrium.prng.RNGUtils.*;
+
+
+/**
+ * Implements PCG64 (also known as PCG XSL RR 128/64) from Melissa O'Neill's
+ * <a href="https://github.com/imneme/pcg-c">Apache-2.0 licensed PCG library</a>. It is a 128-bit LCG
+ * with a period of 2^128, whose outputs are permuted with the XSL RR output function. <br>
+ * Different streams (see {@link #PCG64Random(long, long)}) never overlap, and {@link #advance(long)},
+ * {@link #jump()}, {@link #longJump()} can be used to move around in a stream in logarithmic time.
+ */
+public class PCG64Random implements TRandomGenerator {
+
+    // The 128-bit LCG multiplier, split into its upper and lower 64 bits
+    private static final long MULT_HIGH = 0x2360ED051FC65DA4L;
+    private static final long MULT_LOW = 0x4385DF649FCCF645L;
+
+    // The default 128-bit increment, used when no stream was specified
+    private static final long DEF_INC_HIGH = 0x5851F42D4C957F2DL;
+    private static final long DEF_INC_LOW = 0x14057B7EF767814FL;
+
+    private long stateHigh, stateLow;
+    private final long incHigh, incLow; // always odd
+
+
+    /**
+     * Creates a {@link PCG64Random} that works on the given stream, seeded just like {@code pcg64_srandom_r}
+     * of the PCG library. RNGs with different streams generate completely different sequences even when
+     * they have the same seed.
+     * @param seed any long value
+     * @param stream any long value specifying the stream (increment) of this RNG
+     */
+    public PCG64Random(long seed, long stream) {
+        this(seed, stream >>> 63, (stream << 1) | 1L);
+    }
+
+    /** Creates a {@link PCG64Random} that works on the default stream of the PCG library. */
+    public PCG64Random(long seed) {
+        this(seed, DEF_INC_HIGH, DEF_INC_LOW);
+    }
+
+    public PCG64Random() {
+        this(randSeedFromMath());
+    }
+
+    private PCG64Random(long seed, long incHigh, long incLow) {
+        this.incHigh = incHigh;
+        this.incLow = incLow;
+
+        this.stateHigh = 0L;
+        this.stateLow = 0L;
+        step();
+        final long oldLow = stateLow;
+        stateLow += seed;
+        if(Long.compareUnsigned(stateLow, oldLow) < 0) stateHigh++;
+        step();
+    }
+
+    private PCG64Random(PCG64Random other) {
+        this.stateHigh = other.stateHigh;
+        this.stateLow = other.stateLow;
+        this.incHigh = other.incHigh;
+        this.incLow = other.incLow;
+    }
+
+
+    @Override
+    public long nextLong() {
+        step();
+        // XSL RR: xor the halves and rotate them by the top 6 bits of the state
+        return Long.rotateRight(stateHigh ^ stateLow, (int) (stateHigh >>> 58));
+    }
+
+
+    // state = state * MULT + inc (mod 2^128)
+    private void step() {
+        final long low = stateLow * MULT_LOW;
+        final long high = unsignedMultiplyHigh(stateLow, MULT_LOW) + stateLow * MULT_HIGH + stateHigh * MULT_LOW;
+
+        stateLow = low + incLow;
+        stateHigh = high + incHigh + (Long.compareUnsigned(stateLow, low) < 0 ? 1L : 0L);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  JUMPING  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Advances this RNG {@code delta} steps in its sequence in O(log delta) time, as if {@link #nextLong()}
+     * was called {@code delta} times. The given delta is treated as an unsigned long.
+     * @param delta how many steps this RNG will be advanced
+     */
+    public void advance(long delta) {
+        advance(0L, delta);
+    }
+
+
+    /**
+     * Jumps 2^64 steps ahead in this RNG's sequence, as if {@link #nextLong()} was called 2^64 times.
+     * It can be used to generate 2^64 non-overlapping subsequences for parallel computations.
+     */
+    public void jump() {
+        advance(1L, 0L);
+    }
+
+
+    /**
+     * Jumps 2^96 steps ahead in this RNG's sequence, as if {@link #nextLong()} was called 2^96 times.
+     * It can be used to generate 2^32 starting points, from each of which {@link #jump()} will generate
+     * 2^32 non-overlapping subsequences for parallel distributed computations.
+     */
+    public void longJump() {
+        advance(1L << 32, 0L);
+    }
+
+
+    /** @return a new RNG with the same state and stream as this RNG */
+    public PCG64Random copy() {
+        return new PCG64Random(this);
+    }
+
+
+    // Implements pcg_advance_lcg_128 with a 128-bit delta, see Brown's "Random Number Generation
+    // with Arbitrary Stride" for the details: it computes (accMult, accPlus) such that applying
+    // the LCG delta times is the same as state = state * accMult + accPlus
+    private void advance(long deltaHigh, long deltaLow) {
+        long curMultHigh = MULT_HIGH, curMultLow = MULT_LOW;
+        long curPlusHigh = incHigh, curPlusLow = incLow;
+        long accMultHigh = 0L, accMultLow = 1L;
+        long accPlusHigh = 0L, accPlusLow = 0L;
+
+        while((deltaHigh | deltaLow) != 0L) {
+            if((deltaLow & 1L) != 0L) {
+                // accMult *= curMult
+                final long amLow = accMultLow * curMultLow;
+                accMultHigh = mulHigh(accMultHigh, accMultLow, curMultHigh, curMultLow);
+                accMultLow = amLow;
+
+                // accPlus = accPlus * curMult + curPlus
+                final long apLow = accPlusLow * curMultLow;
+                final long apHigh = mulHigh(accPlusHigh, accPlusLow, curMultHigh, curMultLow);
+                accPlusLow = apLow + curPlusLow;
+                accPlusHigh = apHigh + curPlusHigh + (Long.compareUnsigned(accPlusLow, apLow) < 0 ? 1L : 0L);
+            }
+
+            // curPlus = (curMult + 1) * curPlus
+            final long cm1Low = curMultLow + 1L;
+            final long cm1High = curMultHigh + (cm1Low == 0L ? 1L : 0L);
+            final long cpLow = cm1Low * curPlusLow;
+            curPlusHigh = mulHigh(cm1High, cm1Low, curPlusHigh, curPlusLow);
+            curPlusLow = cpLow;
+
+            // curMult *= curMult
+            final long cmLow = curMultLow * curMultLow;
+            curMultHigh = mulHigh(curMultHigh, curMultLow, curMultHigh, curMultLow);
+            curMultLow = cmLow;
+
+            // delta /= 2
+            deltaLow = (deltaLow >>> 1) | (deltaHigh << 63);
+            deltaHigh >>>= 1;
+        }
+
+        // state = accMult * state + accPlus
+        final long sLow = accMultLow * stateLow;
+        final long sHigh = mulHigh(accMultHigh, accMultLow, stateHigh, stateLow);
+        stateLow = sLow + accPlusLow;
+        stateHigh = sHigh + accPlusHigh + (Long.compareUnsigned(stateLow, sLow) < 0 ? 1L : 0L);
+    }
+
+
+    // Returns the upper 64 bits of the 128-bit product of (aHigh, aLow) and (bHigh, bLow), mod 2^128
+    private static long mulHigh(long aHigh, long aLow, long bHigh, long bLow) {
+        return unsignedMultiplyHigh(aLow, bLow) + aLow * bHigh + aHigh * bLow;
+    }
+
+
+}
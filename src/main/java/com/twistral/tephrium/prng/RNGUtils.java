@@ -79,6 +79,30 @@ public class RNGUtils {
     }
 
 
+    /*//////////////////////////////////////////////////////////////////*/
+    /*////////////////////////  MULTIPLICATION  ////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Returns the upper 64 bits of the unsigned 128-bit product of the given longs. This is an SE8 version
+     * of {@code Math.unsignedMultiplyHigh(long, long)} from future Java versions.
+     * @param x any long value (treated as unsigned)
+     * @param y any long value (treated as unsigned)
+     * @return the upper 64 bits of {@code x * y}
+     */
+    public static long unsignedMultiplyHigh(long x, long y) {
+        // (xHigh * 2^32 + xLow) * (yHigh * 2^32 + yLow) = HH * 2^64 + (HL + LH) * 2^32 + LL
+        final long xLow = x & 0xFFFFFFFFL, xHigh = x >>> 32;
+        final long yLow = y & 0xFFFFFFFFL, yHigh = y >>> 32;
+
+        final long ll = xLow * yLow;
+        final long hl = xHigh * yLow;
+        final long cross = (ll >>> 32) + (hl & 0xFFFFFFFFL) + xLow * yHigh; // cant overflow
+        return xHigh * yHigh + (hl >>> 32) + (cross >>> 32);
+    }
+
+
     /*/////////////////////////////////////////////////////////////////*/
     /*///////////////////////  RAND INIT SEEDS  ///////////////////////*/
     /*/////////////////////////////////////////////////////////////////*/
@@ -15,30 +15,293 @@
 package com.twistral.tephrium.prng;
 
 
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
 import static com.twistral.tephrium.prng.RNGUtils.*;
 
 
 /**
  * Implements this <a href="// https://prng.di.unimi.it/splitmix64.c">public domain source code</a>
- * written by Sebastiano Vigna, with a different mixer function (MX3).
+ * written by Sebastiano Vigna, with a different mixer function (MX3). <br><br>
+ * The n'th generated value of this RNG is simply {@code mix64MX3(seed + n * GOLDEN_GAMMA)}, so it can jump
+ * to any position of its sequence in O(1) time. See {@link #skip(long)}, {@link #split(long)},
+ * {@link #longs(long)} and {@link #doubles(long)} for splitting one sequence into non-overlapping parts.
  */
 public class SplitMix64Random implements TRandomGenerator {
 
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long GOLDEN_GAMMA_INVERSE = 0xF1DE83E19937733DL; // GOLDEN_GAMMA * this = 1 (mod 2^64)
+
+    private final long seed;
     private long state;
 
     public SplitMix64Random(long seed) {
-        this.state = seed;
+        this(seed, seed);
     }
 
     public SplitMix64Random() {
         this(randSeedFromMath());
     }
 
+    private SplitMix64Random(long seed, long state) {
+        this.seed = seed;
+        this.state = state;
+    }
+
 
     @Override
     public long nextLong() {
-        state += 0x9E3779B97F4A7C15L;
+        state += GOLDEN_GAMMA;
         return mix64MX3(state);
     }
 
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  JUMPING  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Skips the next {@code n} values of this RNG's sequence in O(1) time, as if {@link #nextLong()} was
+     * called {@code n} times. Negative values will move this RNG backwards in its sequence.
+     * @param n how many values will be skipped
+     */
+    public void skip(long n) {
+        state += n * GOLDEN_GAMMA;
+    }
+
+
+    /**
+     * Returns how many values were generated by (or skipped over by) this RNG since it was seeded. The
+     * position wraps around after 2^64 values, so it should be treated as an unsigned long.
+     * @return the current position of this RNG in its sequence
+     */
+    public long position() {
+        return (state - seed) * GOLDEN_GAMMA_INVERSE;
+    }
+
+
+    public long getSeed() { return seed; }
+
+
+    /**
+     * Splits the next {@code n} values of this RNG's sequence into a new RNG and skips them in this RNG.
+     * The returned RNG will generate exactly the same {@code n} values that this RNG would have generated,
+     * and this RNG will continue from the value that comes after them. So calling this method repeatedly
+     * partitions the sequence into non-overlapping blocks, for example one block per worker thread.
+     * @param n how many values the returned RNG is allowed to generate without overlapping this RNG
+     * @return a new RNG that starts at this RNG's current position
+     */
+    public SplitMix64Random split(long n) {
+        final SplitMix64Random block = new SplitMix64Random(seed, state);
+        skip(n);
+        return block;
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  STREAMS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Returns a stream of the next {@code count} values that {@link #nextLong()} would generate and skips
+     * them in this RNG. The stream can be parallel, its spliterators split by jumping instead of sharing
+     * this RNG's state, so it contains exactly the same values in the same order whatever the parallelism.
+     * @param count how many values the stream will contain
+     * @return a sized and ordered stream of random long values
+     */
+    public LongStream longs(long count) {
+        if(count < 0L) throw new IllegalArgumentException("count must be non-negative: " + count);
+        final LongStream stream = StreamSupport.longStream(new LongsSpliterator(state, 0L, count), false);
+        skip(count);
+        return stream;
+    }
+
+
+    /** Same as {@link #longs(long)} but for {@link #nextDouble()}. */
+    public DoubleStream doubles(long count) {
+        if(count < 0L) throw new IllegalArgumentException("count must be non-negative: " + count);
+        final DoubleStream stream = StreamSupport.doubleStream(new DoublesSpliterator(state, 0L, count), false);
+        skip(count);
+        return stream;
+    }
+
+
+    /*////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  BULK FILLS  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////////*/
+
+    // The following loops advance a local copy of the state and only write it back once at the end, so
+    // the field isn't read and written per element like it would be with one nextLong() call per element.
+
+    @Override
+    public void fill(long[] arr) {
+        long s = state;
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = mix64MX3(s += GOLDEN_GAMMA);
+        state = s;
+    }
+
+
+    @Override
+    public void fill(int[] arr) {
+        long s = state;
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = (int) mix64MX3(s += GOLDEN_GAMMA);
+        state = s;
+    }
+
+
+    @Override
+    public void fill(double[] arr) {
+        long s = state;
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = (mix64MX3(s += GOLDEN_GAMMA) >>> 11) * 0x1.0p-53;
+        state = s;
+    }
+
+
+    @Override
+    public void fill(float[] arr) {
+        long s = state;
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = (mix64MX3(s += GOLDEN_GAMMA) >>> 40) * 0x1p-24f;
+        state = s;
+    }
+
+
+    @Override
+    public void fill(LongBuffer buffer) {
+        if(buffer.hasArray()) {
+            final long[] arr = buffer.array();
+            final int from = buffer.arrayOffset() + buffer.position();
+            final int len = buffer.remaining();
+            long s = state;
+            for (int i = 0; i < len; i++) arr[from + i] = mix64MX3(s += GOLDEN_GAMMA);
+            state = s;
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        TRandomGenerator.super.fill(buffer);
+    }
+
+
+    @Override
+    public void fill(DoubleBuffer buffer) {
+        if(buffer.hasArray()) {
+            final double[] arr = buffer.array();
+            final int from = buffer.arrayOffset() + buffer.position();
+            final int len = buffer.remaining();
+            long s = state;
+            for (int i = 0; i < len; i++) arr[from + i] = (mix64MX3(s += GOLDEN_GAMMA) >>> 11) * 0x1.0p-53;
+            state = s;
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        TRandomGenerator.super.fill(buffer);
+    }
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  SPLITERATORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    // Both spliterators cover the [index, fence) part of the sequence that starts after the given state
+    private static final int SPLITERATOR_CHARACTERISTICS = Spliterator.SIZED | Spliterator.SUBSIZED |
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+
+    private static final class LongsSpliterator implements Spliterator.OfLong {
+
+        private final long state;
+        private long index;
+        private final long fence;
+
+        LongsSpliterator(long state, long index, long fence) {
+            this.state = state;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public LongsSpliterator trySplit() {
+            final long i = index, mid = (i + fence) >>> 1;
+            if(mid <= i) return null;
+            index = mid;
+            return new LongsSpliterator(state, i, mid);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer consumer) {
+            if(index >= fence) return false;
+            consumer.accept(mix64MX3(state + (++index) * GOLDEN_GAMMA));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer consumer) {
+            final long f = fence;
+            long s = state + index * GOLDEN_GAMMA;
+            for (long i = index; i < f; i++) consumer.accept(mix64MX3(s += GOLDEN_GAMMA));
+            index = f;
+        }
+
+        @Override public long estimateSize() { return fence - index; }
+        @Override public int characteristics() { return SPLITERATOR_CHARACTERISTICS; }
+
+    }
+
+
+    private static final class DoublesSpliterator implements Spliterator.OfDouble {
+
+        private final long state;
+        private long index;
+        private final long fence;
+
+        DoublesSpliterator(long state, long index, long fence) {
+            this.state = state;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public DoublesSpliterator trySplit() {
+            final long i = index, mid = (i + fence) >>> 1;
+            if(mid <= i) return null;
+            index = mid;
+            return new DoublesSpliterator(state, i, mid);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer consumer) {
+            if(index >= fence) return false;
+            consumer.accept((mix64MX3(state + (++index) * GOLDEN_GAMMA) >>> 11) * 0x1.0p-53);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer consumer) {
+            final long f = fence;
+            long s = state + index * GOLDEN_GAMMA;
+            for (long i = index; i < f; i++) consumer.accept((mix64MX3(s += GOLDEN_GAMMA) >>> 11) * 0x1.0p-53);
+            index = f;
+        }
+
+        @Override public long estimateSize() { return fence - index; }
+        @Override public int characteristics() { return SPLITERATOR_CHARACTERISTICS; }
+
+    }
+
+
 }
@@ -16,6 +16,8 @@
 package com.twistral.tephrium.prng;
 
 
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 
 
 public interface TRandomGenerator {
@@ -73,51 +75,164 @@ public interface TRandomGenerator {
     }
 
 
+    /**
+     * Generates the next long value in the [rangeLeftInc, rangeRightExc) range using the RNG's sequence. All
+     * values in the range will have exactly equal probability, as long as {@link #nextLong()} works properly.
+     * The range's length is treated as an unsigned long, so even ranges longer than {@link Long#MAX_VALUE}
+     * work. If both bounds are equal, rangeLeftInc is returned. <br><br>
+     * Implements Daniel Lemire's "nearly divisionless" method from
+     * <a href="https://arxiv.org/abs/1805.10941">Fast Random Integer Generation in an Interval</a>: the
+     * random value is multiplied with the range's length and the upper 64 bits of the product are used.
+     * Only a tiny portion of the products (fewer than rangeLength out of 2^64) needs to be rejected to
+     * remove the bias, and the division needed to find them is only done when a product might be one of them.
+     * @param rangeLeftInc the inclusive lower bound of the generated value
+     * @param rangeRightExc the exclusive upper bound of the generated value
+     * @return the next generated long value in the given range
+     */
     default long nextLong(long rangeLeftInc, long rangeRightExc) {
-        // If overflow didnt exist, we would do rangeLeft + x * rDiff, but sadly it does exist :P
-        // So we apply unsigned-multiply-high on x and rangeDiff and add rangeLeft to it
+        // Tephrium is SE8 so Math.multiplyHigh (SE9+, and signed) cant be used, see RNGUtils.unsignedMultiplyHigh
+        final long rangeLen = rangeRightExc - rangeLeftInc;
+        if(rangeLen == 0L) return rangeLeftInc;
+
+        long x = nextLong();
+
+        // Powers of two never need to be rejected, so skip the extra multiplication and comparisons
+        if((rangeLen & (rangeLen - 1L)) == 0L)
+            return rangeLeftInc + RNGUtils.unsignedMultiplyHigh(x, rangeLen);
+
+        long low = x * rangeLen;
+        if(Long.compareUnsigned(low, rangeLen) < 0) {
+            final long threshold = Long.remainderUnsigned(-rangeLen, rangeLen); // (2^64 - rangeLen) % rangeLen
+            while(Long.compareUnsigned(low, threshold) < 0) {
+                x = nextLong();
+                low = x * rangeLen;
+            }
+        }
+
+        return rangeLeftInc + RNGUtils.unsignedMultiplyHigh(x, rangeLen);
+    }
 
-        // Kinda re-inventing the wheel in this function... or pre-versioning with features the wheel?
-        // While doing unsigned-multiply-high, we need the Math.multiplyHigh(long, long) function. So that
-        // we can modify it and get an unsigned version of it. But this function is +SE9 and Tephrium
-        // is SE8 for compability reasons so we get the higher and lower bits and manually perform a
-        // multiplication on them like so:
-        //     (l1 + h1)(l2 + h2) = l1*l2 + l1*h2 + h1*l2 + h1*h2 = LL + LH + HL + HH
-        // We will only use the upper 64 bits of this sum (which will cause LL to be ignored)
 
-        final long rDiff = rangeRightExc - rangeLeftInc;
-        final long rLow = rDiff & 0xFFFFFFFFL;
-        final long rHigh = (rDiff >>> 32);
+    /**
+     * Same as {@link #nextLong(long, long)} but for integers. The 32-bit by 32-bit multiplication fits
+     * in a long, so this one doesn't need the multiply-high function.
+     * @param rangeLeftInc the inclusive lower bound of the generated value
+     * @param rangeRightExc the exclusive upper bound of the generated value
+     * @return the next generated int value in the given range
+     */
+    default int nextInt(int rangeLeftInc, int rangeRightExc) {
+        final long rangeLen = (rangeRightExc - rangeLeftInc) & 0xFFFFFFFFL; // unsigned
+        if(rangeLen == 0L) return rangeLeftInc;
 
-        final long x = nextLong();
-        final long xLow = x & 0xFFFFFFFFL;
-        final long xHigh = (x >>> 32);
+        long product = (nextInt() & 0xFFFFFFFFL) * rangeLen;
 
-        final long xtimesrange = xHigh * rHigh +   // HH
-                   (xHigh * rLow >>> 32) +         // HL
-                   (xLow * rHigh >>> 32);          // LH
-        //         (xLow * rLow >>> 64)            // LL (ignored since its always 0)
+        // Powers of two never need to be rejected
+        if((rangeLen & (rangeLen - 1L)) == 0L)
+            return rangeLeftInc + (int) (product >>> 32);
 
-        return rangeLeftInc + xtimesrange;
+        long low = product & 0xFFFFFFFFL;
+        if(low < rangeLen) {
+            final long threshold = (0x100000000L - rangeLen) % rangeLen; // (2^32 - rangeLen) % rangeLen
+            while(low < threshold) {
+                product = (nextInt() & 0xFFFFFFFFL) * rangeLen;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+
+        return rangeLeftInc + (int) (product >>> 32);
     }
 
 
-    default int nextInt(int rangeLeftInc, int rangeRightExc) {
-        // Same as nextLong(long, long) but for integers
-        final int rDiff = rangeRightExc - rangeLeftInc;
-        final int rLow = rDiff & 0xFFFF;
-        final int rHigh = (rDiff >>> 16);
+    /*////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  BULK FILLS  ///////////////////////////*/
+    /*////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Fills the given array with values generated by {@link #nextLong()}. The array will contain the
+     * same values that {@code arr.length} consecutive calls to {@link #nextLong()} would return.
+     * RNGs can override this to generate values faster than one virtual call per element.
+     * @param arr any long array
+     */
+    default void fill(long[] arr) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = nextLong();
+    }
+
+
+    /** @see #fill(long[]) */
+    default void fill(int[] arr) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = nextInt();
+    }
+
+
+    /** @see #fill(long[]) */
+    default void fill(double[] arr) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = nextDouble();
+    }
+
+
+    /** @see #fill(long[]) */
+    default void fill(float[] arr) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = nextFloat();
+    }
+
+
+    /**
+     * Fills the given array with values generated by {@link #nextLong(long, long)}.
+     * @param arr any long array
+     * @param rangeLeftInc the inclusive lower bound of the generated values
+     * @param rangeRightExc the exclusive upper bound of the generated values
+     */
+    default void fill(long[] arr, long rangeLeftInc, long rangeRightExc) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = nextLong(rangeLeftInc, rangeRightExc);
+    }
 
-        final int x = nextInt();
-        final int xLow = x & 0xFFFF;
-        final int xHigh = (x >>> 16);
 
-        final int xtimesrange = xHigh * rHigh +    // HH
-                  (xHigh * rLow >>> 16) +          // HL
-                  (xLow * rHigh >>> 16);           // LH
-        //        (xLow * rLow >>> 32)             // LL (ignored since its always 0)
+    /** @see #fill(long[], long, long) */
+    default void fill(int[] arr, int rangeLeftInc, int rangeRightExc) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = nextInt(rangeLeftInc, rangeRightExc);
+    }
+
+
+    /** @see #fill(long[], long, long) */
+    default void fill(double[] arr, double rangeLeftInc, double rangeRightExc) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = nextDouble(rangeLeftInc, rangeRightExc);
+    }
+
 
-        return rangeLeftInc + xtimesrange;
+    /** @see #fill(long[], long, long) */
+    default void fill(float[] arr, float rangeLeftInc, float rangeRightExc) {
+        final int len = arr.length;
+        for (int i = 0; i < len; i++) arr[i] = nextFloat(rangeLeftInc, rangeRightExc);
+    }
+
+
+    /**
+     * Fills the remaining elements of the given buffer (from its position to its limit) with values
+     * generated by {@link #nextLong()}. Just like relative {@link LongBuffer#put(long)} calls, this
+     * will move the buffer's position to its limit.
+     * @param buffer any long buffer
+     */
+    default void fill(LongBuffer buffer) {
+        while(buffer.hasRemaining()) buffer.put(nextLong());
+    }
+
+
+    /**
+     * Fills the remaining elements of the given buffer (from its position to its limit) with values
+     * generated by {@link #nextDouble()}. Just like relative {@link DoubleBuffer#put(double)} calls, this
+     * will move the buffer's position to its limit.
+     * @param buffer any double buffer
+     */
+    default void fill(DoubleBuffer buffer) {
+        while(buffer.hasRemaining()) buffer.put(nextDouble());
     }
 
 
@@ -0,0 +1,55 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.twistral.tephrium.prng;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.twistral.tephrium.prng.RNGUtils.*;
+
+
+/**
+ * Provides one {@link TRandomGenerator} per thread, similar to {@link java.util.concurrent.ThreadLocalRandom}.
+ * Sharing a single RNG between threads loses updates (RNGs in Tephrium are not synchronized) and makes
+ * every thread fight over the same state, so static "default RNG" fields should use {@link #current()}
+ * instead. Virtual threads also get their own RNGs since they have their own thread-local variables.
+ */
+public final class TThreadLocalRandom {
+
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // Every thread gets a seed from this sequence, so no two threads start with the same seed
+    private static final AtomicLong SEEDER = new AtomicLong(randSeedFromMath());
+
+    private static final ThreadLocal<TRandomGenerator> RANDOMS = ThreadLocal.withInitial(
+        () -> new SplitMix64Random(mix64Murmur3(SEEDER.getAndAdd(SEED_GAMMA)))
+    );
+
+
+    // No constructor
+    private TThreadLocalRandom() {}
+
+
+    /**
+     * Returns the calling thread's RNG. The returned RNG must only be used by the calling thread,
+     * so it should not be stored in fields or passed to other threads.
+     * @return the calling thread's RNG
+     */
+    public static TRandomGenerator current() {
+        return RANDOMS.get();
+    }
+
+
+}
@@ -0,0 +1,121 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.twistral.tephrium.prng;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import static com.twistral.tephrium.prng.RNGUtils.*;
+
+
+/**
+ * Implements this <a href="https://prng.di.unimi.it/xoroshiro128plusplus.c">public domain source code</a>
+ * written by David Blackman and Sebastiano Vigna. It has a 128-bit state and a period of 2^128 - 1. <br>
+ * Use {@link #jump()} and {@link #longJump()} to get non-overlapping sequences for parallel computations.
+ */
+public class Xoroshiro128PlusPlusRandom implements TRandomGenerator {
+
+    private static final long[] JUMP = { 0x2BD7A6A6E99C2DDCL, 0x0992CCAF6A6FCA05L };
+    private static final long[] LONG_JUMP = { 0x360FD5F2CF8D5D99L, 0x9C6E6877736C46E3L };
+
+    private long s0, s1;
+
+
+    /**
+     * Creates a {@link Xoroshiro128PlusPlusRandom} with the given state. The state must not be all zeros.
+     * @throws TephriumException if both of the given state values are zero
+     */
+    public Xoroshiro128PlusPlusRandom(long s0, long s1) {
+        if((s0 | s1) == 0L)
+            throw new TephriumException("The state of Xoroshiro128++ can not be all zeros.");
+
+        this.s0 = s0;
+        this.s1 = s1;
+    }
+
+    /** Creates a {@link Xoroshiro128PlusPlusRandom} whose state is initialized by a {@link SplitMix64Random}. */
+    public Xoroshiro128PlusPlusRandom(long seed) {
+        final SplitMix64Random seeder = new SplitMix64Random(seed);
+        this.s0 = seeder.nextLong();
+        this.s1 = seeder.nextLong();
+    }
+
+    public Xoroshiro128PlusPlusRandom() {
+        this(randSeedFromMath());
+    }
+
+
+    @Override
+    public long nextLong() {
+        final long t0 = s0;
+        long t1 = s1;
+        final long result = Long.rotateLeft(t0 + t1, 17) + t0;
+
+        t1 ^= t0;
+        s0 = Long.rotateLeft(t0, 49) ^ t1 ^ (t1 << 21);
+        s1 = Long.rotateLeft(t1, 28);
+
+        return result;
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  JUMPING  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Jumps 2^64 steps ahead in this RNG's sequence, as if {@link #nextLong()} was called 2^64 times.
+     * It can be used to generate 2^64 non-overlapping subsequences for parallel computations.
+     */
+    public void jump() {
+        jump(JUMP);
+    }
+
+
+    /**
+     * Jumps 2^96 steps ahead in this RNG's sequence, as if {@link #nextLong()} was called 2^96 times.
+     * It can be used to generate 2^32 starting points, from each of which {@link #jump()} will generate
+     * 2^32 non-overlapping subsequences for parallel distributed computations.
+     */
+    public void longJump() {
+        jump(LONG_JUMP);
+    }
+
+
+    /** @return a new RNG with the same state as this RNG */
+    public Xoroshiro128PlusPlusRandom copy() {
+        return new Xoroshiro128PlusPlusRandom(s0, s1);
+    }
+
+
+    private void jump(long[] polynomial) {
+        long t0 = 0L, t1 = 0L;
+        for (long p : polynomial) {
+            for (int b = 0; b < 64; b++) {
+                if((p & (1L << b)) != 0L) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                }
+                nextLong();
+            }
+        }
+
+        s0 = t0;
+        s1 = t1;
+    }
+
+
+}
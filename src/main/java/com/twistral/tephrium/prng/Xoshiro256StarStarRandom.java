@@ -0,0 +1,136 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.twistral.tephrium.prng;
+
+
+import com.twistral.tephrium.core.TephriumException;
+
+import static com.twistral.tephrium.prng.RNGUtils.*;
+
+
+/**
+ * Implements this <a href="https://prng.di.unimi.it/xoshiro256starstar.c">public domain source code</a>
+ * written by David Blackman and Sebastiano Vigna. It has a 256-bit state and a period of 2^256 - 1. <br>
+ * Use {@link #jump()} and {@link #longJump()} to get non-overlapping sequences for parallel computations.
+ */
+public class Xoshiro256StarStarRandom implements TRandomGenerator {
+
+    private static final long[] JUMP = {
+        0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL
+    };
+
+    private static final long[] LONG_JUMP = {
+        0x76E15D3EFEFDCBBFL, 0xC5004E441C522FB3L, 0x77710069854EE241L, 0x39109BB02ACBE635L
+    };
+
+    private long s0, s1, s2, s3;
+
+
+    /**
+     * Creates a {@link Xoshiro256StarStarRandom} with the given state. The state must not be all zeros.
+     * @throws TephriumException if all of the given state values are zero
+     */
+    public Xoshiro256StarStarRandom(long s0, long s1, long s2, long s3) {
+        if((s0 | s1 | s2 | s3) == 0L)
+            throw new TephriumException("The state of Xoshiro256** can not be all zeros.");
+
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    /** Creates a {@link Xoshiro256StarStarRandom} whose state is initialized by a {@link SplitMix64Random}. */
+    public Xoshiro256StarStarRandom(long seed) {
+        final SplitMix64Random seeder = new SplitMix64Random(seed);
+        this.s0 = seeder.nextLong();
+        this.s1 = seeder.nextLong();
+        this.s2 = seeder.nextLong();
+        this.s3 = seeder.nextLong();
+    }
+
+    public Xoshiro256StarStarRandom() {
+        this(randSeedFromMath());
+    }
+
+
+    @Override
+    public long nextLong() {
+        final long result = Long.rotateLeft(s1 * 5L, 7) * 9L;
+        final long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  JUMPING  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * Jumps 2^128 steps ahead in this RNG's sequence, as if {@link #nextLong()} was called 2^128 times.
+     * It can be used to generate 2^128 non-overlapping subsequences for parallel computations.
+     */
+    public void jump() {
+        jump(JUMP);
+    }
+
+
+    /**
+     * Jumps 2^192 steps ahead in this RNG's sequence, as if {@link #nextLong()} was called 2^192 times.
+     * It can be used to generate 2^64 starting points, from each of which {@link #jump()} will generate
+     * 2^64 non-overlapping subsequences for parallel distributed computations.
+     */
+    public void longJump() {
+        jump(LONG_JUMP);
+    }
+
+
+    /** @return a new RNG with the same state as this RNG */
+    public Xoshiro256StarStarRandom copy() {
+        return new Xoshiro256StarStarRandom(s0, s1, s2, s3);
+    }
+
+
+    private void jump(long[] polynomial) {
+        long t0 = 0L, t1 = 0L, t2 = 0L, t3 = 0L;
+        for (long p : polynomial) {
+            for (int b = 0; b < 64; b++) {
+                if((p & (1L << b)) != 0L) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+
+
+}
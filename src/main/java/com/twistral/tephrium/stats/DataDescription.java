@@ -19,12 +19,22 @@ import com.twistral.tephrium.core.TephriumException;
 import com.twistral.tephrium.core.functions.TMath;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
 
 
 public class DataDescription {
 
+    // Sorted arrays shorter than this are described serially by parallel(), longer ones are split into chunks of
+    // CHUNK_LENGTH. The chunks only depend on the length, so the results don't depend on the number of cores.
+    private static final int PARALLEL_THRESHOLD = 1 << 18;
+    private static final int CHUNK_LENGTH = 1 << 16;
+    // Parts of the array up to this length are sorted instead of partitioned by select()
+    private static final int SELECT_SORT_LENGTH = 32;
+
     public final double count, mean, sum, interquartileRange, sampleVariance, variance, sampleStddev,
             modeValue, modeCount, median, quartile1, quartile2, quartile3, min, max, range, stddev;
 
@@ -57,31 +67,26 @@ public class DataDescription {
         double vsum = Arrays.stream(sortedData).map(val -> TMath.square(val - mean)).sum();
         this.variance = vsum / sortedData.length;
         this.stddev = TMath.sqrt(variance);
-        this.sampleVariance = vsum / sortedData.length - 1;
+        this.sampleVariance = vsum / (sortedData.length - 1);
         this.sampleStddev = TMath.sqrt(sampleVariance);
 
         {
-            HashMap<Double, Integer> frequencyMap = new HashMap<>();
-            double maxModeFrequency = 1d, tempMode = 0d;
-            boolean hasMode = false;
-
-            for (double dbl : sortedData) {
-                if (!frequencyMap.containsKey(dbl)) {
-                    frequencyMap.put(dbl, 1);
-                    continue;
-                }
-
-                int current = frequencyMap.get(dbl) + 1;
-                frequencyMap.put(dbl, current);
-
-                if (current > maxModeFrequency) {
-                    maxModeFrequency = current;
-                    tempMode = dbl;
-                    hasMode = true;
+            // Equal values are next to each other in sorted data, so the mode is the longest run. Compares the
+            // bits like Double.equals does, so -0.0 and 0.0 are different values and all NaNs are the same value.
+            int maxRun = 1, run = 1;
+            double tempMode = Double.NaN;
+            long previousBits = Double.doubleToLongBits(sortedData[0]);
+            for (int i = 1; i < sortedData.length; i++) {
+                final long bits = Double.doubleToLongBits(sortedData[i]);
+                run = (bits == previousBits) ? run + 1 : 1;
+                if (run > maxRun) {
+                    maxRun = run;
+                    tempMode = sortedData[i];
                 }
+                previousBits = bits;
             }
-            this.modeValue = hasMode ? tempMode : Double.NaN;
-            this.modeCount = hasMode ? frequencyMap.get(this.modeValue) : Double.NaN;
+            this.modeValue = (maxRun > 1) ? tempMode : Double.NaN;
+            this.modeCount = (maxRun > 1) ? maxRun : Double.NaN;
         }
 
         this.quartile1 = getQuartile(sortedData, 1);
@@ -100,6 +105,340 @@ public class DataDescription {
     }
 
 
+    /**
+     * Creates the same description as {@link #DataDescription(double[], String)} without sorting the data, for
+     * when only a few order statistics are needed. The mode is found by counting the values in a primitive hash
+     * table, and the quartiles with an introselect that only keeps partitioning the parts of the array that hold
+     * the elements around them, which takes O(n) expected time instead of the O(n log n) of sorting. <br>
+     * The sums are added in a different order than the sorted constructor, so they can differ in the last bits,
+     * and a quartile of zero can have the other sign since selection doesn't order -0.0 and 0.0. The min and max
+     * are always the same as in sorted data.
+     * @param data any array with more than 3 elements
+     * @param inPlace if true, the elements of data are reordered instead of selecting on a copy of it
+     */
+    public static DataDescription ofUnsorted(double[] data, String dataName, boolean inPlace) {
+        final int length = data.length;
+        if (length <= 3)
+            throw new TephriumException("The size of your data array must be greater than 3.");
+
+        final DoubleCounter counter = new DoubleCounter(length);
+        for (double value : data) counter.add(value);
+
+        final double sum = TMath.sum(data), mean = sum / length;
+        double squaredDeviationSum = 0d;
+        for (double value : data) squaredDeviationSum += TMath.square(value - mean);
+
+        // Arrays.sort puts NaNs after every other value, so they are moved to the end before selecting
+        final double[] work = inPlace ? data : data.clone();
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        int end = length;
+        for (int i = length - 1; i >= 0; i--) {
+            final double value = work[i];
+            if (value != value) {
+                work[i] = work[--end];
+                work[end] = value;
+            }
+            else {
+                // Math.min/max order -0.0 before 0.0 like Arrays.sort, which '<' and '>' don't
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+
+        final int[] indices = new int[6];
+        for (int q = 1; q <= 3; q++) {
+            indices[2 * q - 2] = quartileLowIndex(length, q) - 1;
+            indices[2 * q - 1] = quartileLowIndex(length, q);
+        }
+        int indexCount = 0;
+        while (indexCount < indices.length && indices[indexCount] < end) indexCount++;
+        select(work, 0, end, indices, 0, indexCount, 2 * (31 - Integer.numberOfLeadingZeros(length)));
+
+        return new DataDescription(dataName, length, sum, mean, squaredDeviationSum,
+                (end == 0) ? Double.NaN : min, (end < length) ? Double.NaN : max,
+                getQuartile(work, 1), getQuartile(work, 2), getQuartile(work, 3),
+                counter.modeValue(), counter.modeCount());
+    }
+
+
+    /** Same as {@link #ofUnsorted(double[], String, boolean)} on a copy of the data, which isn't modified. */
+    public static DataDescription ofUnsorted(double[] data, String dataName) {
+        return ofUnsorted(data, dataName, false);
+    }
+
+
+    public static DataDescription ofUnsorted(double[] data) {
+        return ofUnsorted(data, "Unnamed", false);
+    }
+
+
+    /**
+     * Creates the same description as {@link #DataDescription(double[], String)} using all cores of the common
+     * {@link java.util.concurrent.ForkJoinPool}, for arrays of at least 2^18 elements (smaller ones are described
+     * serially). The array is split into chunks that are summed with Neumaier's compensated summation and scanned
+     * for runs of equal values, then the chunks are merged in order. <br>
+     * The sum is compensated chunk by chunk, so it can differ from the serial sum by the rounding error of the
+     * serial sum, at most {@code n * 2^-53} times the sum of the absolute values. The squared deviations from the
+     * mean are added with a plain loop per chunk instead of the compensated stream sum of the serial constructor,
+     * so that sum is not more precise, its relative error is at most about {@code n * 2^-53} too. Because of
+     * these, {@code sum}, {@code mean}, {@code variance}, {@code stddev}, {@code sampleVariance},
+     * {@code sampleStddev} and {@code pearsonSkewCoef} can differ from the serial result by about that relative
+     * amount (more for {@code pearsonSkewCoef} when the mean is close to the median). Every other field is exactly
+     * the same. The result is always the same for the same array, no matter how many cores there are.
+     * @param sortedData any sorted array with more than 3 elements
+     */
+    public static DataDescription parallel(double[] sortedData, String dataName) {
+        final int length = sortedData.length;
+        if (length < PARALLEL_THRESHOLD) return new DataDescription(sortedData, dataName);
+
+        final int chunkCount = (length + CHUNK_LENGTH - 1) / CHUNK_LENGTH;
+        final Chunk[] chunks = new Chunk[chunkCount];
+        IntStream.range(0, chunkCount).parallel().forEach(c ->
+                chunks[c] = new Chunk(sortedData, c * CHUNK_LENGTH, chunkEnd(c, length)));
+
+        // Merges the chunks like the serial scan: a run is only counted once it's complete, and the first
+        // longest run wins
+        double sum = 0d, compensation = 0d, tempMode = Double.NaN;
+        int maxRun = 1, openRun = 0;
+        long openBits = 0L;
+        for (Chunk chunk : chunks) {
+            final double t = sum + chunk.sum;
+            compensation += (Math.abs(sum) >= Math.abs(chunk.sum)) ? (sum - t) + chunk.sum : (chunk.sum - t) + sum;
+            compensation += chunk.compensation;
+            sum = t;
+
+            if (openRun > 0 && openBits == chunk.firstBits) {
+                openRun += chunk.firstRun;
+            }
+            else {
+                if (openRun > maxRun) {
+                    maxRun = openRun;
+                    tempMode = Double.longBitsToDouble(openBits);
+                }
+                openBits = chunk.firstBits;
+                openRun = chunk.firstRun;
+            }
+            if (chunk.singleRun) continue;
+
+            if (openRun > maxRun) {
+                maxRun = openRun;
+                tempMode = Double.longBitsToDouble(openBits);
+            }
+            if (chunk.innerMaxRun > maxRun) {
+                maxRun = chunk.innerMaxRun;
+                tempMode = chunk.innerMode;
+            }
+            openBits = chunk.lastBits;
+            openRun = chunk.lastRun;
+        }
+        if (openRun > maxRun) {
+            maxRun = openRun;
+            tempMode = Double.longBitsToDouble(openBits);
+        }
+
+        sum += compensation;
+        final double mean = sum / length;
+        final double[] squaredDeviationSums = new double[chunkCount];
+        IntStream.range(0, chunkCount).parallel().forEach(c -> {
+            double chunkSum = 0d;
+            for (int i = c * CHUNK_LENGTH, end = chunkEnd(c, length); i < end; i++)
+                chunkSum += TMath.square(sortedData[i] - mean);
+            squaredDeviationSums[c] = chunkSum;
+        });
+        double squaredDeviationSum = 0d;
+        for (double chunkSum : squaredDeviationSums) squaredDeviationSum += chunkSum;
+
+        return new DataDescription(dataName, length, sum, mean, squaredDeviationSum,
+                sortedData[0], sortedData[length - 1], getQuartile(sortedData, 1), getQuartile(sortedData, 2),
+                getQuartile(sortedData, 3), (maxRun > 1) ? tempMode : Double.NaN, (maxRun > 1) ? maxRun : Double.NaN);
+    }
+
+
+    public static DataDescription parallel(double[] sortedData) {
+        return parallel(sortedData, "Unnamed");
+    }
+
+
+    /**
+     * Creates a description from already computed values, deriving the rest of the fields from them.
+     * Order statistics that aren't known (quartiles, mode) can be NaN, which makes the fields derived
+     * from them NaN too.
+     * @param squaredDeviationSum the sum of the squared differences between the values and their mean
+     */
+    private DataDescription(String dataName, double count, double sum, double mean, double squaredDeviationSum,
+                            double min, double max, double quartile1, double quartile2, double quartile3,
+                            double modeValue, double modeCount) {
+        this.count = count;
+        this.sum = sum;
+        this.mean = mean;
+        this.min = min;
+        this.max = max;
+        this.range = max - min;
+        this.variance = squaredDeviationSum / count;
+        this.stddev = TMath.sqrt(variance);
+        this.sampleVariance = squaredDeviationSum / (count - 1);
+        this.sampleStddev = TMath.sqrt(sampleVariance);
+        this.modeValue = modeValue;
+        this.modeCount = modeCount;
+        this.quartile1 = quartile1;
+        this.quartile2 = quartile2;
+        this.quartile3 = quartile3;
+        this.median = quartile2;
+        this.pearsonSkewCoef = 3 * (mean - median) / stddev;
+        this.interquartileRange = quartile3 - quartile1;
+        this.bowleySkewCoef = (quartile3 + quartile1 - 2 * quartile2) / (quartile3 - quartile1);
+        this.dataName = (dataName != null) ? dataName : "Unnamed";
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  BUILDER  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * A collector that summarizes the mapped values of a stream with a {@link Builder}. Works with parallel
+     * streams, the partial builders are merged with {@link Builder#combine(Builder)}.
+     * @param mapper maps the elements to the described values, use {@code Double::doubleValue} for doubles
+     */
+    public static <T> Collector<T, Builder, DataDescription> toDataDescription(ToDoubleFunction<? super T> mapper,
+                                                                            String dataName) {
+        return Collector.of(Builder::new, (builder, element) -> builder.accept(mapper.applyAsDouble(element)),
+                Builder::combine, builder -> builder.build(dataName));
+    }
+
+
+    /**
+     * Summarizes values one by one in O(1) memory, without storing or sorting them, for data that is too large
+     * to hold or that never ends. The mean and the second and third central moments are updated with the
+     * numerically stable formulas of Welford and Pébay (<a href="https://www.osti.gov/biblio/1028931">Formulas
+     * for Robust, One-Pass Parallel Computation of Covariances and Arbitrary-Order Statistical Moments</a>),
+     * and the sum is compensated, so large offsets and long streams don't lose precision. <br>
+     * Order statistics (quartiles, median, mode) need all the values, so they are NaN in the descriptions
+     * built by this class. For a {@link java.util.stream.DoubleStream}, use
+     * {@code stream.collect(Builder::new, Builder::accept, Builder::combine)}. This class is not thread-safe.
+     */
+    public static final class Builder implements DoubleConsumer {
+
+        // The running mean is only used to update the moments, the compensated sum gives a more precise mean
+        private long count;
+        private double mean, m2, m3;
+        private double sum, sumCompensation;
+        private double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+
+
+        @Override
+        public void accept(double value) {
+            final double n1 = count, n = ++count;
+            final double delta = value - mean;
+            final double deltaN = delta / n;
+            final double term = delta * deltaN * n1;
+            mean += deltaN;
+            m3 += term * deltaN * (n - 2) - 3 * deltaN * m2;
+            m2 += term;
+
+            addToSum(value);
+            if(value < min) min = value;
+            if(value > max) max = value;
+        }
+
+
+        public Builder addAll(double... values) {
+            for (double value : values) accept(value);
+            return this;
+        }
+
+
+        /**
+         * Adds all values of the other builder to this one, as if they were accepted by this builder.
+         * @return this builder
+         */
+        public Builder combine(Builder other) {
+            if(other.count == 0L) return this;
+            if(count == 0L) {
+                copyFrom(other);
+                return this;
+            }
+
+            final double na = count, nb = other.count, n = na + nb;
+            final double delta = other.mean - mean;
+            m3 += other.m3 + delta * delta * delta * na * nb * (na - nb) / (n * n)
+                    + 3 * delta * (na * other.m2 - nb * m2) / n;
+            m2 += other.m2 + delta * delta * na * nb / n;
+            mean += delta * nb / n;
+            count += other.count;
+
+            addToSum(other.sum);
+            addToSum(other.sumCompensation);
+            if(other.min < min) min = other.min;
+            if(other.max > max) max = other.max;
+            return this;
+        }
+
+
+        public long count() { return count; }
+        public double sum() { return sum + sumCompensation; }
+        public double mean() { return sum() / count; }
+        public double min() { return (count == 0L) ? Double.NaN : min; }
+        public double max() { return (count == 0L) ? Double.NaN : max; }
+        public double variance() { return m2 / count; }
+        public double sampleVariance() { return m2 / (count - 1); }
+        public double stddev() { return TMath.sqrt(variance()); }
+        public double sampleStddev() { return TMath.sqrt(sampleVariance()); }
+
+
+        /**
+         * Returns the moment coefficient of skewness (the third standardized moment) of the population,
+         * which is positive for data skewed to right and negative for data skewed to left.
+         * @return the skewness, or NaN if all values are the same
+         */
+        public double skewness() {
+            return Math.sqrt(count) * m3 / Math.pow(m2, 1.5);
+        }
+
+
+        /** @return a description whose quartiles, median, mode and the fields derived from them are NaN */
+        public DataDescription build(String dataName) {
+            return build(dataName, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+
+        /** Builds a description with the given (for example estimated) quartiles, the mode is NaN. */
+        DataDescription build(String dataName, double quartile1, double quartile2, double quartile3) {
+            if(count == 0L) throw new TephriumException("Can't describe an empty data set.");
+            return new DataDescription(dataName, count, sum(), mean(), m2, min, max,
+                    quartile1, quartile2, quartile3, Double.NaN, Double.NaN);
+        }
+
+
+        public DataDescription build() {
+            return build("Unnamed");
+        }
+
+
+        // Neumaier's variant of Kahan summation, which also works when the added value is larger than the sum
+        private void addToSum(double value) {
+            final double t = sum + value;
+            if(Math.abs(sum) >= Math.abs(value)) sumCompensation += (sum - t) + value;
+            else sumCompensation += (value - t) + sum;
+            sum = t;
+        }
+
+
+        private void copyFrom(Builder other) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            m3 = other.m3;
+            sum = other.sum;
+            sumCompensation = other.sumCompensation;
+            min = other.min;
+            max = other.max;
+        }
+
+    }
+
+
     /*//////////////////////////////////////////////////////////////////////////*/
     /*///////////////////////////  HELPER FUNCTIONS  ///////////////////////////*/
     /*//////////////////////////////////////////////////////////////////////////*/
@@ -113,6 +452,207 @@ public class DataDescription {
     }
 
 
+    // getQuartile only reads the elements at this index and the one before it
+    private static int quartileLowIndex(int length, int nthQuartile) {
+        return TMath.floorFast((length + 1d) * nthQuartile / 4d);
+    }
+
+
+    /**
+     * Introselect for several indices at once: moves the elements that would be at the given (sorted) indices
+     * of arr[from, to) if it was sorted to those indices. Partitions around a median of three pivot into the
+     * smaller, equal and larger elements, and only continues in the parts that hold wanted indices. Small parts
+     * are sorted, and so are the parts left when the depth limit runs out, which bounds the worst case at
+     * O(n log n). The part must not hold NaNs.
+     */
+    private static void select(double[] arr, int from, int to, int[] indices, int indexFrom, int indexTo,
+                               int depthLimit) {
+        while (indexFrom < indexTo) {
+            if (to - from <= SELECT_SORT_LENGTH || depthLimit-- == 0) {
+                Arrays.sort(arr, from, to);
+                return;
+            }
+
+            final double a = arr[from], b = arr[(from + to) >>> 1], c = arr[to - 1];
+            final double pivot = (a < b) ? ((b < c) ? b : Math.max(a, c)) : ((a < c) ? a : Math.max(b, c));
+
+            // [from, lt) < pivot, [lt, gt) == pivot, [gt, to) > pivot
+            int lt = from, gt = to, i = from;
+            while (i < gt) {
+                final double value = arr[i];
+                if (value < pivot) {
+                    arr[i++] = arr[lt];
+                    arr[lt++] = value;
+                }
+                else if (value > pivot) {
+                    arr[i] = arr[--gt];
+                    arr[gt] = value;
+                }
+                else i++;
+            }
+
+            int leftEnd = indexFrom;
+            while (leftEnd < indexTo && indices[leftEnd] < lt) leftEnd++;
+            int rightStart = leftEnd;
+            while (rightStart < indexTo && indices[rightStart] < gt) rightStart++;
+
+            select(arr, from, lt, indices, indexFrom, leftEnd, depthLimit);
+            from = gt;
+            indexFrom = rightStart;
+        }
+    }
+
+
+    private static int chunkEnd(int chunk, int length) {
+        return (int) Math.min(length, (chunk + 1L) * CHUNK_LENGTH);
+    }
+
+
+    /**
+     * The sum of a part of sorted data, and the runs of equal values in it: the first and the last run, which can
+     * continue in the neighbouring parts, and the first longest run between them.
+     */
+    private static final class Chunk {
+
+        final double sum, compensation;
+        final long firstBits, lastBits;
+        final int firstRun, lastRun, innerMaxRun;
+        final double innerMode;
+        final boolean singleRun;
+
+
+        Chunk(double[] sortedData, int from, int to) {
+            double sum = 0d, compensation = 0d;
+            for (int i = from; i < to; i++) {
+                final double value = sortedData[i], t = sum + value;
+                if (Math.abs(sum) >= Math.abs(value)) compensation += (sum - t) + value;
+                else compensation += (value - t) + sum;
+                sum = t;
+            }
+            this.sum = sum;
+            this.compensation = compensation;
+
+            this.firstBits = Double.doubleToLongBits(sortedData[from]);
+            int firstEnd = from + 1;
+            while (firstEnd < to && Double.doubleToLongBits(sortedData[firstEnd]) == firstBits) firstEnd++;
+            this.firstRun = firstEnd - from;
+            this.singleRun = firstEnd == to;
+
+            this.lastBits = Double.doubleToLongBits(sortedData[to - 1]);
+            int lastStart = to - 1;
+            while (lastStart > firstEnd && Double.doubleToLongBits(sortedData[lastStart - 1]) == lastBits) lastStart--;
+            this.lastRun = to - lastStart;
+
+            int maxRun = 0, run = 0;
+            double mode = Double.NaN;
+            for (int i = firstEnd; i < lastStart; i++) {
+                final boolean continues = i > firstEnd &&
+                        Double.doubleToLongBits(sortedData[i]) == Double.doubleToLongBits(sortedData[i - 1]);
+                run = continues ? run + 1 : 1;
+                if (run > maxRun) {
+                    maxRun = run;
+                    mode = sortedData[i];
+                }
+            }
+            this.innerMaxRun = maxRun;
+            this.innerMode = mode;
+        }
+
+    }
+
+
+    /**
+     * Counts doubles in an open addressing table of their bits (linear probing), without boxing them. Values are
+     * compared like {@link Double#equals(Object)}, the same as the run-length pass of the constructor.
+     */
+    private static final class DoubleCounter {
+
+        private static final int MAX_INITIAL_CAPACITY = 1 << 17;
+
+        private long[] keys;
+        private int[] counts; // 0 means the slot is empty
+        private int size, shift;
+
+
+        DoubleCounter(int expectedSize) {
+            // Starts small in case there are many duplicates, the table doubles whenever it's half full
+            final int capacity = Math.max(16, Integer.highestOneBit(Math.min(expectedSize, MAX_INITIAL_CAPACITY)) * 2);
+            this.keys = new long[capacity];
+            this.counts = new int[capacity];
+            this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+
+        void add(double value) {
+            final long bits = Double.doubleToLongBits(value);
+            final int mask = counts.length - 1;
+            for (int i = slot(bits); ; i = (i + 1) & mask) {
+                if (counts[i] == 0) {
+                    keys[i] = bits;
+                    counts[i] = 1;
+                    if (++size > (counts.length >> 1)) grow();
+                    return;
+                }
+                if (keys[i] == bits) {
+                    counts[i]++;
+                    return;
+                }
+            }
+        }
+
+
+        /** @return the most frequent value, the smallest one if there are ties, or NaN if no value repeats */
+        double modeValue() {
+            final int index = modeIndex();
+            return (index >= 0) ? Double.longBitsToDouble(keys[index]) : Double.NaN;
+        }
+
+
+        double modeCount() {
+            final int index = modeIndex();
+            return (index >= 0) ? counts[index] : Double.NaN;
+        }
+
+
+        private int modeIndex() {
+            int index = -1, maxCount = 1;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > maxCount || (counts[i] == maxCount && index >= 0 &&
+                        Double.compare(Double.longBitsToDouble(keys[i]), Double.longBitsToDouble(keys[index])) < 0)) {
+                    index = i;
+                    maxCount = counts[i];
+                }
+            }
+            return index;
+        }
+
+
+        // Fibonacci hashing, the top bits of the product depend on all bits of the value
+        private int slot(long bits) {
+            return (int) ((bits * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+
+        private void grow() {
+            final long[] oldKeys = keys;
+            final int[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldCounts.length * 2];
+            shift--;
+
+            final int mask = counts.length - 1;
+            for (int j = 0; j < oldCounts.length; j++) {
+                if (oldCounts[j] == 0) continue;
+                int i = slot(oldKeys[j]);
+                while (counts[i] != 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                counts[i] = oldCounts[j];
+            }
+        }
+
+    }
+
+
     /*////////////////////////////////////////////////////////////////////////*/
     /*///////////////////////////  OBJECT METHODS  ///////////////////////////*/
     /*////////////////////////////////////////////////////////////////////////*/
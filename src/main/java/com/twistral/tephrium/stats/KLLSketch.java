@@ -0,0 +1,260 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tephrium.stats;
+
+
+import com.twistral.tephrium.collections.DoubleList;
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.prng.TRandomGenerator;
+
+import java.util.ArrayList;
+
+
+/**
+ * A mergeable sketch that estimates the quantiles of any number of values in bounded memory, implementing
+ * Karnin, Lang and Liberty's KLL sketch (<a href="https://arxiv.org/abs/1603.05346">Optimal Quantile
+ * Approximation in Streams</a>). <br>
+ * Values are kept in levels, a value at level h stands for 2^h of the added values. When a level is full it's
+ * sorted and every other value (starting at a random one of the first two) moves to the next level, so the
+ * sketch keeps around {@code 3k} values no matter how many are added. The rank error of {@link #quantile(double)}
+ * shrinks as 1/k: with the default k of 200 it stays within 1% of the count (0.2% on average), and k=800 uses
+ * four times the memory for a quarter of the error. Merging the sketches of shards keeps the same accuracy. <br>
+ * Count, sum, mean, variance, min and max are exact, see {@link #toDataDescription(String)}. This class is not
+ * thread-safe.
+ */
+public class KLLSketch {
+
+    // Static variables
+    private static final int DEFAULT_K = 200;
+    private static final int MIN_K = 8;
+    private static final double CAPACITY_RATIO = 2d / 3d; // each level can hold 2/3 of the level above it
+    private static final int MIN_LEVEL_CAPACITY = 2;
+
+    // Instance variables
+    private final int k;
+    private final TRandomGenerator random;
+    private final ArrayList<DoubleList> levels;
+    private final DataDescription.Builder moments;
+    private int retained, maxRetained;
+
+    // Sorted values of all levels and their cumulative weights, null after every change
+    private double[] sortedValues;
+    private long[] cumulativeWeights;
+
+
+    /*//////////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  CONSTRUCTORS  ///////////////////////////*/
+    /*//////////////////////////////////////////////////////////////////////*/
+
+
+    /**
+     * @param k the accuracy parameter, the size of the top level
+     * @param random used to choose which half of a level moves up, give a seeded RNG for reproducible results
+     */
+    public KLLSketch(int k, TRandomGenerator random) {
+        if(k < MIN_K) throw new TephriumException("Invalid k value (must be >=%d): %d", MIN_K, k);
+        this.k = k;
+        this.random = random;
+        this.levels = new ArrayList<>();
+        this.moments = new DataDescription.Builder();
+        grow();
+    }
+
+    public KLLSketch(int k) {
+        this(k, new SplitMix64Random());
+    }
+
+    public KLLSketch() {
+        this(DEFAULT_K);
+    }
+
+
+    /*/////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  METHODS  ///////////////////////////*/
+    /*/////////////////////////////////////////////////////////////////*/
+
+
+    public void add(double value) {
+        if(Double.isNaN(value)) throw new TephriumException("NaN values can't be ordered.");
+        levels.get(0).add(value);
+        moments.accept(value);
+        sortedValues = null;
+        if(++retained >= maxRetained) compress();
+    }
+
+
+    public void addAll(double... values) {
+        for (double value : values) add(value);
+    }
+
+
+    /**
+     * Adds all values of the other sketch to this one. Both sketches must have the same k, the other one
+     * isn't modified.
+     */
+    public void merge(KLLSketch other) {
+        if(other.k != k)
+            throw new TephriumException("Can't merge sketches with different k values: %d and %d", k, other.k);
+
+        while(levels.size() < other.levels.size()) grow();
+        for (int h = 0; h < other.levels.size(); h++) levels.get(h).addAll(other.levels.get(h));
+        retained += other.retained;
+        moments.combine(other.moments);
+        sortedValues = null;
+        while(retained >= maxRetained) compress();
+    }
+
+
+    /**
+     * Estimates the value at the given quantile, the smallest added value that is at least as large as the
+     * q fraction of all values. The quantiles 0 and 1 are the exact min and max.
+     * @param q any value in range [0,1], for example 0.5 for the median
+     * @return the estimated quantile
+     */
+    public double quantile(double q) {
+        if(!(q >= 0d && q <= 1d)) throw new TephriumException("Invalid quantile (must be in [0,1]): %f", q);
+        if(isEmpty()) throw new TephriumException("Can't find the quantiles of an empty sketch.");
+        if(q == 0d) return moments.min();
+        if(q == 1d) return moments.max();
+
+        sortIfChanged();
+        final double targetWeight = q * count();
+        int low = 0, high = cumulativeWeights.length - 1;
+        while(low < high) {
+            final int mid = (low + high) >>> 1;
+            if(cumulativeWeights[mid] < targetWeight) low = mid + 1;
+            else high = mid;
+        }
+        return sortedValues[low];
+    }
+
+
+    /**
+     * Estimates the fraction of the added values that are smaller than or equal to the given value.
+     * @return the estimated rank in range [0,1]
+     */
+    public double rank(double value) {
+        if(isEmpty()) throw new TephriumException("Can't find the ranks of an empty sketch.");
+        sortIfChanged();
+        int low = 0, high = sortedValues.length;
+        while(low < high) {
+            final int mid = (low + high) >>> 1;
+            if(sortedValues[mid] <= value) low = mid + 1;
+            else high = mid;
+        }
+        return (low == 0) ? 0d : cumulativeWeights[low - 1] / (double) count();
+    }
+
+
+    /**
+     * Creates a description with estimated quartiles (and median), the other fields except the mode are exact.
+     * The quartiles are the 0.25, 0.5 and 0.75 quantiles instead of the interpolated values of
+     * {@link DataDescription#DataDescription(double[], String)}, which are close to them for large data sets.
+     */
+    public DataDescription toDataDescription(String dataName) {
+        if(isEmpty()) throw new TephriumException("Can't describe an empty data set.");
+        return moments.build(dataName, quantile(0.25), quantile(0.5), quantile(0.75));
+    }
+
+
+    /** @return the number of added values */
+    public long count() { return moments.count(); }
+    public boolean isEmpty() { return moments.count() == 0L; }
+    public double min() { return moments.min(); }
+    public double max() { return moments.max(); }
+    public int getK() { return k; }
+
+    /** @return the number of values the sketch holds, which stays around 3k */
+    public int retainedCount() { return retained; }
+
+
+    /*///////////////////////////////////////////////////////////////////*/
+    /*///////////////////////////  INTERNALS  ///////////////////////////*/
+    /*///////////////////////////////////////////////////////////////////*/
+
+
+    // The top level holds k values and every level below it 2/3 of the one above, so the total is below 3k
+    private int capacity(int level) {
+        final int depth = levels.size() - level - 1;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_RATIO, depth)));
+    }
+
+
+    private void grow() {
+        levels.add(new DoubleList());
+        maxRetained = 0;
+        for (int h = 0; h < levels.size(); h++) maxRetained += capacity(h);
+    }
+
+
+    // Compacts the lowest full level, there is always one since the sketch holds more than the total capacity
+    private void compress() {
+        for (int h = 0; h < levels.size(); h++) {
+            if(levels.get(h).size() < capacity(h)) continue;
+            if(h + 1 == levels.size()) grow();
+            compact(levels.get(h), levels.get(h + 1));
+            return;
+        }
+    }
+
+
+    // Moves every other value of the sorted level up, each with twice the weight. With an odd size, the largest
+    // value stays so that the weights of the level and the moved values are equal.
+    private void compact(DoubleList level, DoubleList nextLevel) {
+        level.sort();
+        final double[] values = level.toArrayView();
+        final int size = level.size(), pairs = size & ~1;
+        for (int i = random.nextBoolean() ? 1 : 0; i < pairs; i += 2) nextLevel.add(values[i]);
+
+        final double largest = values[size - 1];
+        level.clear();
+        if(pairs != size) level.add(largest);
+        retained -= pairs / 2;
+    }
+
+
+    private void sortIfChanged() {
+        if(sortedValues != null) return;
+
+        // Merges the sorted levels, the values of level h have a weight of 2^h
+        final int levelCount = levels.size();
+        final int[] positions = new int[levelCount];
+        for (DoubleList level : levels) level.sort();
+
+        sortedValues = new double[retained];
+        cumulativeWeights = new long[retained];
+        long cumulativeWeight = 0L;
+        for (int i = 0; i < retained; i++) {
+            int minLevel = -1;
+            double minValue = Double.POSITIVE_INFINITY;
+            for (int h = 0; h < levelCount; h++) {
+                final DoubleList level = levels.get(h);
+                if(positions[h] < level.size() && (minLevel < 0 || level.get(positions[h]) < minValue)) {
+                    minLevel = h;
+                    minValue = level.get(positions[h]);
+                }
+            }
+            positions[minLevel]++;
+            cumulativeWeight += 1L << minLevel;
+            sortedValues[i] = minValue;
+            cumulativeWeights[i] = cumulativeWeight;
+        }
+    }
+
+
+}
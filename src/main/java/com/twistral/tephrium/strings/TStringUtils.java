@@ -18,8 +18,8 @@ package com.twistral.tephrium.strings;
 
 import com.twistral.tephrium.collections.TCollections;
 import com.twistral.tephrium.core.functions.TMath;
-import com.twistral.tephrium.prng.SplitMix64Random;
 import com.twistral.tephrium.prng.TRandomGenerator;
+import com.twistral.tephrium.prng.TThreadLocalRandom;
 import java.util.HashMap;
 import java.util.function.Function;
 
@@ -45,9 +45,6 @@ public class TStringUtils {
     // Other constants
     public static final char CNULL = '\u0000';
 
-    // Private fields
-    private static final TRandomGenerator RAND_SHUFFLE = new SplitMix64Random();
-
     // No constructor
     private TStringUtils() {}
 
@@ -74,7 +71,8 @@ public class TStringUtils {
         return new String(arr);
     }
 
-    public static String shuffleString(String str) { return shuffleString(str, RAND_SHUFFLE); }
+    /** Shuffles the string using the calling thread's RNG, see {@link TThreadLocalRandom}. */
+    public static String shuffleString(String str) { return shuffleString(str, TThreadLocalRandom.current()); }
 
 
     /**
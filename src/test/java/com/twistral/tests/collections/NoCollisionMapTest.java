@@ -18,9 +18,35 @@
 package com.twistral.tests.collections;
 
 
+import com.twistral.tephrium.collections.CompactNoCollisionMap;
+import com.twistral.tephrium.collections.ConcurrentNoCollisionMap;
+import com.twistral.tephrium.collections.FrozenNoCollisionMap;
+import com.twistral.tephrium.collections.IntIntBiMap;
+import com.twistral.tephrium.collections.IntObjBiMap;
+import com.twistral.tephrium.collections.LongLongBiMap;
+import com.twistral.tephrium.collections.MappedLongBiMap;
 import com.twistral.tephrium.collections.NoCollisionMap;
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.prng.SplitMix64Random;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -150,4 +176,465 @@ public class NoCollisionMapTest {
         assertFalse(map.put("Key123124", 1));
     }
 
+
+
+    @Test
+    @DisplayName("compactNoCollisionMapTest")
+    void compactNoCollisionMapTest() {
+        // Small key and value ranges so that collisions, removals and table wraparounds happen a lot
+        SplitMix64Random rand = new SplitMix64Random(2024L);
+        CompactNoCollisionMap<Integer, String> map = new CompactNoCollisionMap<>(4);
+        HashMap<Integer, String> keyToValue = new HashMap<>();
+        HashMap<String, Integer> valueToKey = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            final Integer key = rand.nextInt(0, 3000) * 1024; // Same low bits on purpose
+            final String value = "v" + rand.nextInt(0, 3000);
+            final boolean keyExists = keyToValue.containsKey(key), valueExists = valueToKey.containsKey(value);
+
+            switch (rand.nextInt(0, 5)) {
+                case 0: case 1:
+                    assertEquals(!keyExists && !valueExists, map.put(key, value));
+                    if(!keyExists && !valueExists) {
+                        keyToValue.put(key, value);
+                        valueToKey.put(value, key);
+                    }
+                    break;
+                case 2:
+                    assertEquals(keyExists, rand.nextBoolean() ? map.removeByKey(key) :
+                            (keyExists && map.removeByValue(keyToValue.get(key))));
+                    if(keyExists) valueToKey.remove(keyToValue.remove(key));
+                    break;
+                case 3: {
+                    final boolean ok = keyExists && (!valueExists || value.equals(keyToValue.get(key)));
+                    assertEquals(ok, map.replaceValue(key, value));
+                    if(ok) {
+                        valueToKey.remove(keyToValue.get(key));
+                        keyToValue.put(key, value);
+                        valueToKey.put(value, key);
+                    }
+                    break;
+                }
+                default: {
+                    final boolean ok = valueExists && (!keyExists || key.equals(valueToKey.get(value)));
+                    assertEquals(ok, map.replaceKey(value, key));
+                    if(ok) {
+                        keyToValue.remove(valueToKey.get(value));
+                        valueToKey.put(value, key);
+                        keyToValue.put(key, value);
+                    }
+                    break;
+                }
+            }
+
+            assertEquals(keyToValue.size(), map.size());
+            assertEquals(keyToValue.get(key), map.getValue(key));
+            assertEquals(valueToKey.get(value), map.getKey(value));
+            assertEquals(keyToValue.containsKey(key), map.containsKey(key));
+            assertEquals(valueToKey.containsKey(value), map.containsValue(value));
+        }
+
+        assertEquals(keyToValue.keySet(), new HashSet<>(map.keySet()));
+        assertEquals(valueToKey.keySet(), new HashSet<>(map.valueSet()));
+        assertEquals(keyToValue.entrySet(), new HashSet<>(map.entrySet()));
+        final Integer someKey = keyToValue.keySet().iterator().next();
+        assertTrue(map.entrySet().contains(new AbstractMap.SimpleEntry<>(someKey, keyToValue.get(someKey))));
+        assertFalse(map.entrySet().contains(new AbstractMap.SimpleEntry<>(someKey, "not a value")));
+        map.forEach((k, v) -> assertEquals(keyToValue.get(k), v));
+
+        // Nulls are allowed like in NoCollisionMap
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertTrue(map.put(null, "null key"));
+        assertTrue(map.put(7, null));
+        assertEquals("null key", map.getValue(null));
+        assertEquals(7, map.getKey(null));
+        assertEquals("default", map.getValueOrDefault(8, "default"));
+        assertEquals(-1, map.getKeyOrDefault("nothing", -1));
+        assertTrue(map.removeByValue(null));
+        assertEquals(1, map.size());
+
+        // With a low loadFactor the threshold of small tables rounds down to 0, the map must still grow
+        CompactNoCollisionMap<Integer, String> sparseMap = new CompactNoCollisionMap<>(0, 0.2f);
+        for (int i = 0; i < 1000; i++) assertTrue(sparseMap.put(i, "v" + i));
+        assertEquals(1000, sparseMap.size());
+        for (int i = 0; i < 1000; i++) assertEquals(i, sparseMap.getKey("v" + i));
+
+        assertThrows(TephriumException.class, () -> new CompactNoCollisionMap<>(-1));
+        assertThrows(TephriumException.class, () -> new CompactNoCollisionMap<>(10, 1f));
+    }
+
+
+    @Test
+    @DisplayName("primitiveBiMapTest")
+    void primitiveBiMapTest() {
+        // IntIntBiMap and LongLongBiMap get the same operations as a CompactNoCollisionMap (whose replace methods are
+        // also atomic), 0 is a common key and value
+        SplitMix64Random rand = new SplitMix64Random(2025L);
+        CompactNoCollisionMap<Integer, Integer> expected = new CompactNoCollisionMap<>();
+        IntIntBiMap intMap = new IntIntBiMap(4);
+        LongLongBiMap longMap = new LongLongBiMap(4);
+
+        for (int i = 0; i < 200_000; i++) {
+            final int key = rand.nextInt(-1500, 1500) * 1024; // Same low bits on purpose
+            final int value = rand.nextInt(-1500, 1500);
+            final long longKey = key * 0x1_0000_0001L, longValue = value * 0x1_0000_0001L;
+
+            switch (rand.nextInt(0, 5)) {
+                case 0: case 1: {
+                    final boolean ok = expected.put(key, value);
+                    assertEquals(ok, intMap.put(key, value));
+                    assertEquals(ok, longMap.put(longKey, longValue));
+                    break;
+                }
+                case 2: {
+                    final boolean ok = expected.removeByKey(key);
+                    assertEquals(ok, intMap.removeByKey(key));
+                    assertEquals(ok, longMap.removeByKey(longKey));
+                    break;
+                }
+                case 3: {
+                    final boolean ok = expected.removeByValue(value);
+                    assertEquals(ok, intMap.removeByValue(value));
+                    assertEquals(ok, longMap.removeByValue(longValue));
+                    break;
+                }
+                default: {
+                    final boolean byKey = rand.nextBoolean();
+                    final boolean ok = byKey ? expected.replaceValue(key, value) : expected.replaceKey(value, key);
+                    assertEquals(ok, byKey ? intMap.replaceValue(key, value) : intMap.replaceKey(value, key));
+                    assertEquals(ok, byKey ? longMap.replaceValue(longKey, longValue) :
+                            longMap.replaceKey(longValue, longKey));
+                    break;
+                }
+            }
+
+            assertEquals(expected.size(), intMap.size());
+            assertEquals(expected.size(), longMap.size());
+            assertEquals(expected.containsKey(key), intMap.containsKey(key));
+            assertEquals(expected.containsValue(value), longMap.containsValue(longValue));
+            assertEquals(expected.getValueOrDefault(key, -1), intMap.getValueOrDefault(key, -1));
+            assertEquals(expected.getKeyOrDefault(value, -1), intMap.getKeyOrDefault(value, -1));
+            assertEquals(expected.getValueOrDefault(key, -1) * 0x1_0000_0001L,
+                    longMap.getValueOrDefault(longKey, -0x1_0000_0001L));
+            assertEquals(expected.getKeyOrDefault(value, -1) * 0x1_0000_0001L,
+                    longMap.getKeyOrDefault(longValue, -0x1_0000_0001L));
+        }
+
+        final int[] count = new int[1];
+        intMap.forEach((k, v) -> { assertEquals(expected.getValue(k), v); count[0]++; });
+        longMap.forEach((k, v) -> assertEquals(expected.getValue((int) k) * 0x1_0000_0001L, v));
+        assertEquals(expected.size(), count[0]);
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray(),
+                Arrays.stream(intMap.keys()).sorted().toArray());
+        assertArrayEquals(expected.valueSet().stream().mapToInt(Integer::intValue).sorted().toArray(),
+                Arrays.stream(intMap.values()).sorted().toArray());
+
+        intMap.clear();
+        assertTrue(intMap.isEmpty());
+        assertEquals(0, intMap.getValue(0));
+        assertTrue(intMap.put(0, 5));
+        assertFalse(intMap.put(1, 5));
+        assertTrue(intMap.replaceKey(5, 1));
+        assertEquals(1, intMap.getKey(5));
+        assertFalse(intMap.containsKey(0));
+
+        // With a low loadFactor the threshold of small tables rounds down to 0, the maps must still grow
+        IntIntBiMap sparseIntMap = new IntIntBiMap(0, 0.2f);
+        LongLongBiMap sparseLongMap = new LongLongBiMap(0, 0.05f);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(sparseIntMap.put(i, -i));
+            assertTrue(sparseLongMap.put(i, -i));
+        }
+        assertEquals(1000, sparseIntMap.size());
+        assertEquals(1000, sparseLongMap.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(-i, sparseIntMap.getValue(i));
+            assertEquals(i, sparseLongMap.getKey(-i));
+        }
+
+        assertThrows(TephriumException.class, () -> new IntIntBiMap(-1));
+        assertThrows(TephriumException.class, () -> new LongLongBiMap(10, 0f));
+    }
+
+
+
+    @Test
+    @DisplayName("intObjBiMapTest")
+    void intObjBiMapTest() {
+        SplitMix64Random rand = new SplitMix64Random(2026L);
+        CompactNoCollisionMap<Integer, String> expected = new CompactNoCollisionMap<>();
+        IntObjBiMap<String> map = new IntObjBiMap<>(4);
+
+        for (int i = 0; i < 200_000; i++) {
+            final int key = rand.nextInt(-1500, 1500) * 1024;
+            final String value = "v" + rand.nextInt(0, 3000);
+
+            switch (rand.nextInt(0, 5)) {
+                case 0: case 1: assertEquals(expected.put(key, value), map.put(key, value)); break;
+                case 2: assertEquals(expected.removeByKey(key), map.removeByKey(key)); break;
+                case 3: assertEquals(expected.removeByValue(value), map.removeByValue(value)); break;
+                default:
+                    if(expected.containsKey(key))
+                        assertEquals(expected.replaceValue(key, value), map.replaceValue(key, value));
+                    else
+                        assertEquals(expected.replaceKey(value, key), map.replaceKey(value, key));
+                    break;
+            }
+
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected.getValue(key), map.getValue(key));
+            assertEquals(expected.getKeyOrDefault(value, -1), map.getKeyOrDefault(value, -1));
+            assertEquals(expected.containsValue(value), map.containsValue(value));
+        }
+
+        final int[] count = new int[1];
+        map.forEach((k, v) -> { assertEquals(expected.getValue(k), v); count[0]++; });
+        assertEquals(expected.size(), count[0]);
+
+        map.clear();
+        assertTrue(map.put(0, "zero"));
+        assertEquals(0, map.getKeyOrDefault("zero", -1));
+        assertNull(map.getValue(1));
+        assertFalse(map.containsValue(null));
+        assertThrows(TephriumException.class, () -> map.put(2, null));
+        assertThrows(TephriumException.class, () -> map.replaceValue(0, null));
+
+        IntObjBiMap<String> sparseMap = new IntObjBiMap<>(0, 0.2f);
+        for (int i = 0; i < 1000; i++) assertTrue(sparseMap.put(i, "v" + i));
+        assertEquals(1000, sparseMap.size());
+        for (int i = 0; i < 1000; i++) assertEquals(i, sparseMap.getKeyOrDefault("v" + i, -1));
+    }
+
+
+    @Test
+    @DisplayName("concurrentNoCollisionMapStressTest")
+    void concurrentNoCollisionMapStressTest() throws Exception {
+        final int threadCount = 8, opCount = 100_000;
+        final ConcurrentNoCollisionMap<Integer, String> map = new ConcurrentNoCollisionMap<>(16, 0.75f, 8);
+        final AtomicInteger expectedSize = new AtomicInteger();
+        final AtomicInteger brokenReads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        try {
+            // Every thread updates the same small key and value ranges, so updates collide all the time
+            Future<?>[] futures = new Future<?>[threadCount];
+            for (int t = 0; t < threadCount; t++) {
+                final long seed = t;
+                futures[t] = executor.submit(() -> {
+                    SplitMix64Random rand = new SplitMix64Random(seed);
+                    start.await();
+                    for (int i = 0; i < opCount; i++) {
+                        final Integer key = rand.nextInt(0, 256);
+                        final String value = "v" + rand.nextInt(0, 256);
+                        switch (rand.nextInt(0, 6)) {
+                            case 0: if(map.put(key, value)) expectedSize.incrementAndGet(); break;
+                            case 1: if(map.removeByKey(key)) expectedSize.decrementAndGet(); break;
+                            case 2: if(map.removeByValue(value)) expectedSize.decrementAndGet(); break;
+                            case 3: map.replaceValue(key, value); break;
+                            case 4: map.replaceKey(value, key); break;
+                            default: {
+                                // A reader that found value through key must never find that value without a key
+                                final String found = map.getValue(key);
+                                if(found != null && map.getKey(found) == null && map.getValue(key) == found)
+                                    brokenReads.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get();
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertEquals(0, brokenReads.get());
+        assertEquals(expectedSize.get(), map.size());
+        assertEquals(map.keySet().size(), map.valueSet().size());
+        map.forEach((k, v) -> {
+            assertEquals(k, map.getKey(v));
+            assertEquals(v, map.getValue(k));
+        });
+
+        // Many threads put different keys with the same value, exactly one of them wins every round
+        final ExecutorService racers = Executors.newFixedThreadPool(threadCount);
+        try {
+            map.clear();
+            for (int round = 0; round < 200; round++) {
+                final String value = "round" + round;
+                final int base = round * threadCount + 1000;
+                Future<?>[] futures = new Future<?>[threadCount];
+                for (int t = 0; t < threadCount; t++) {
+                    final int key = base + t;
+                    futures[t] = racers.submit(() -> map.put(key, value));
+                }
+                int winners = 0;
+                for (Future<?> future : futures) if((Boolean) future.get()) winners++;
+                assertEquals(1, winners);
+            }
+            assertEquals(200, map.size());
+        }
+        finally {
+            racers.shutdown();
+        }
+
+        assertThrows(TephriumException.class, () -> map.put(null, "x"));
+        assertThrows(TephriumException.class, () -> map.put(1, null));
+        assertNull(map.getValue(null));
+        assertThrows(TephriumException.class, () -> new ConcurrentNoCollisionMap<>(16, 0.75f, 0));
+    }
+
+
+    @Test
+    @DisplayName("noCollisionMapBulkTest")
+    void noCollisionMapBulkTest() {
+        NoCollisionMap<String, Integer> map = NoCollisionMap.of(new String[] {"a", "b", "c"}, new Integer[] {1, 2, 3});
+        assertEquals(3, map.size());
+        assertEquals("b", map.getKey(2));
+
+        // Every rejected pair is reported in order, a pair rejected earlier doesn't block later pairs
+        List<Map.Entry<String, Integer>> rejected = map.putAll(
+                new String[] {"d", "a", "e", "f", "e"}, new Integer[] {4, 5, 4, 6, 7});
+        assertEquals(Arrays.asList(new AbstractMap.SimpleImmutableEntry<>("a", 5),
+                new AbstractMap.SimpleImmutableEntry<>("e", 4)), rejected);
+        assertEquals(6, map.size());
+        assertEquals(7, map.getValue("e"));
+
+        Map<String, Integer> source = new LinkedHashMap<>();
+        source.put("g", 8);
+        source.put("h", 8);
+        source.put("i", 1);
+        assertEquals(Arrays.asList(new AbstractMap.SimpleImmutableEntry<>("h", 8),
+                new AbstractMap.SimpleImmutableEntry<>("i", 1)), map.putAll(source));
+        assertEquals("g", map.getKey(8));
+
+        TephriumException ex = assertThrows(TephriumException.class,
+                () -> NoCollisionMap.of(new String[] {"x", "y", "x"}, new Integer[] {1, 2, 3}));
+        assertTrue(ex.getMessage().contains("x=3"));
+        assertThrows(TephriumException.class, () -> NoCollisionMap.of(new String[] {"x"}, new Integer[0]));
+
+        // Large enough to fill both directions in parallel, with and without collisions
+        final int n = 300_000;
+        Integer[] keys = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+        String[] values = IntStream.range(0, n).mapToObj(i -> "v" + i).toArray(String[]::new);
+        NoCollisionMap<Integer, String> large = NoCollisionMap.of(keys, values);
+        assertEquals(n, large.size());
+        assertEquals(12345, large.getKey("v12345"));
+
+        values[n - 1] = "v7";
+        ex = assertThrows(TephriumException.class, () -> NoCollisionMap.of(keys, values));
+        assertTrue(ex.getMessage().startsWith("1 of 300000 pairs"));
+
+        NoCollisionMap<Integer, String> collected = IntStream.range(0, n).parallel().boxed()
+                .collect(NoCollisionMap.toNoCollisionMap(i -> i, i -> "v" + i));
+        assertEquals(n, collected.size());
+        assertEquals("v299999", collected.getValue(299999));
+        assertThrows(TephriumException.class, () -> IntStream.range(0, 10).boxed()
+                .collect(NoCollisionMap.toNoCollisionMap(i -> i, i -> i % 5)));
+    }
+
+
+    @Test
+    @DisplayName("frozenNoCollisionMapTest")
+    void frozenNoCollisionMapTest() {
+        for (int n : new int[] {0, 1, 2, 3, 100, 50_000}) {
+            NoCollisionMap<Integer, String> map = new NoCollisionMap<>();
+            for (int i = 0; i < n; i++) map.put(i * 1024, "v" + i); // Same low bits on purpose
+            FrozenNoCollisionMap<Integer, String> frozen = map.freeze();
+
+            assertEquals(n, frozen.size());
+            assertEquals(n == 0, frozen.isEmpty());
+            for (int i = -5; i < n + 5; i++) {
+                assertEquals(map.getValue(i * 1024), frozen.getValue(i * 1024));
+                assertEquals(map.getKey("v" + i), frozen.getKey("v" + i));
+                assertEquals(map.containsKey(i * 1024 + 1), frozen.containsKey(i * 1024 + 1));
+            }
+            final int[] count = new int[1];
+            frozen.forEach((k, v) -> { assertEquals(map.getValue(k), v); count[0]++; });
+            assertEquals(n, count[0]);
+            assertEquals(map.entrySet(), frozen.thaw().entrySet());
+
+            // The snapshot doesn't change with the map
+            map.clear();
+            assertEquals(n, frozen.size());
+        }
+
+        // Equal hash codes and nulls
+        NoCollisionMap<String, String> map = new NoCollisionMap<>();
+        map.put("Aa", "BB");
+        map.put("BB", "Aa");
+        map.put(null, "null key");
+        map.put("null value", null);
+        FrozenNoCollisionMap<String, String> frozen = map.freeze();
+        assertEquals("BB", frozen.getValue("Aa"));
+        assertEquals("Aa", frozen.getValue("BB"));
+        assertEquals("null key", frozen.getValue(null));
+        assertEquals("null value", frozen.getKey(null));
+        assertNull(frozen.getKey("missing"));
+        assertEquals("default", frozen.getKeyOrDefault("missing", "default"));
+    }
+
+
+    @Test
+    @DisplayName("mappedLongBiMapTest")
+    void mappedLongBiMapTest() throws IOException {
+        final Path file = Files.createTempFile("tephrium-bimap", ".bin");
+        file.toFile().deleteOnExit();
+        SplitMix64Random rand = new SplitMix64Random(2027L);
+        LongLongBiMap expected = new LongLongBiMap();
+
+        try(MappedLongBiMap map = MappedLongBiMap.create(file, 5000)) {
+            assertTrue(map.maxSize() >= 5000);
+            for (int i = 0; i < 100_000; i++) {
+                final long key = rand.nextInt(-2000, 2000) * 0x1_0000_0000L;
+                final long value = rand.nextInt(-2000, 2000);
+                switch (rand.nextInt(0, 4)) {
+                    case 0: case 1: assertEquals(expected.put(key, value), map.put(key, value)); break;
+                    case 2: assertEquals(expected.removeByKey(key), map.removeByKey(key)); break;
+                    default: assertEquals(expected.replaceKey(value, key), map.replaceKey(value, key)); break;
+                }
+                assertEquals(expected.size(), map.size());
+                assertEquals(expected.getValueOrDefault(key, -1), map.getValueOrDefault(key, -1));
+                assertEquals(expected.getKeyOrDefault(value, -1), map.getKeyOrDefault(value, -1));
+            }
+        }
+
+        // Everything is still there after reopening, and two readers can share the file
+        try(MappedLongBiMap reader1 = MappedLongBiMap.openReadOnly(file);
+            MappedLongBiMap reader2 = MappedLongBiMap.openReadOnly(file)) {
+            assertEquals(expected.size(), reader1.size());
+            final int[] count = new int[1];
+            reader1.forEach((k, v) -> {
+                assertEquals(v, expected.getValue(k));
+                assertEquals(k, reader2.getKey(v));
+                count[0]++;
+            });
+            assertEquals(expected.size(), count[0]);
+            assertTrue(reader1.isReadOnly());
+            assertThrows(TephriumException.class, () -> reader1.put(123, 456));
+            assertThrows(TephriumException.class, reader2::clear);
+        }
+
+        try(MappedLongBiMap map = MappedLongBiMap.open(file)) {
+            map.clear();
+            assertTrue(map.isEmpty());
+            assertTrue(map.put(0, 0));
+            assertEquals(0, map.getKeyOrDefault(0, -1));
+            for (int i = 1; map.size() < map.maxSize(); i++) assertTrue(map.put(i, -i));
+            assertThrows(TephriumException.class, () -> map.put(-1, 1));
+        }
+        try(MappedLongBiMap map = MappedLongBiMap.open(file)) {
+            assertEquals(map.maxSize(), map.size());
+            assertEquals(-5, map.getValue(5));
+        }
+
+        Files.write(file, new byte[100]);
+        assertThrows(TephriumException.class, () -> MappedLongBiMap.openReadOnly(file));
+        assertThrows(TephriumException.class, () -> MappedLongBiMap.create(file, -1));
+    }
+
 }
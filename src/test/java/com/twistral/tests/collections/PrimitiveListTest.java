@@ -0,0 +1,125 @@
+
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.twistral.tests.collections;
+
+
+import com.twistral.tephrium.collections.DoubleList;
+import com.twistral.tephrium.collections.IntList;
+import com.twistral.tephrium.collections.LongList;
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.stats.DataDescription;
+import com.twistral.tephrium.stats.FrequencyDistTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class PrimitiveListTest {
+
+    @Test
+    @DisplayName("intListTest")
+    void intListTest() {
+        SplitMix64Random rand = new SplitMix64Random(17L);
+        IntList list = new IntList(0);
+        ArrayList<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            final int x = rand.nextInt(-500, 500);
+            list.add(x);
+            expected.add(x);
+        }
+        list.addAll(new int[] {7, 8, 9});
+        list.addAll(new int[] {1, 2, 3, 4}, 1, 2);
+        list.addAll(new IntList(new int[] {-1}));
+        expected.addAll(Arrays.asList(7, 8, 9, 2, 3, -1));
+
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.remove(100), list.removeAt(100));
+        list.set(5, 12345);
+        expected.set(5, 12345);
+        for (int i = 0; i < expected.size(); i++) assertEquals(expected.get(i), list.get(i));
+        assertEquals(expected.indexOf(12345), list.indexOf(12345));
+        assertFalse(list.contains(1000));
+
+        final long[] sum = new long[1];
+        list.forEach(x -> sum[0] += x);
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), sum[0]);
+
+        list.sort();
+        Collections.sort(expected);
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+        assertEquals(expected.indexOf(12345), list.binarySearch(12345));
+        assertTrue(list.binarySearch(1000) < 0);
+
+        // The view is the backing array, it's exact after trimming
+        assertTrue(list.toArrayView().length >= list.size());
+        list.trimToSize();
+        assertSame(list.toArrayView(), list.toArrayView());
+        assertArrayEquals(list.toArray(), list.toArrayView());
+
+        assertEquals(new IntList(new int[] {1, 2, 3}), new IntList(new int[] {1, 2, 3}));
+        assertEquals(new IntList(new int[] {1, 2, 3}).hashCode(), Arrays.hashCode(new int[] {1, 2, 3}));
+        assertEquals("[1, 2, 3]", new IntList(new int[] {1, 2, 3}).toString());
+        assertThrows(TephriumException.class, () -> list.get(list.size()));
+        assertThrows(TephriumException.class, () -> new IntList(-1));
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("primitiveListConversionTest")
+    void primitiveListConversionTest() {
+        double[] data = {5, 1, 4, 4, 2, 8, 9, 3};
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+
+        IntList ints = new IntList();
+        LongList longs = new LongList();
+        DoubleList doubles = new DoubleList();
+        for (double d : data) {
+            ints.add((int) d);
+            longs.add((long) d);
+            doubles.add(d);
+        }
+
+        assertArrayEquals(data, ints.toDoubleArray());
+        assertArrayEquals(sorted, longs.toSortedDoubleArray());
+        assertArrayEquals(sorted, doubles.toSortedArray());
+        assertArrayEquals(data, doubles.toArray()); // Sorting a copy doesn't change the list
+
+        DataDescription expected = new DataDescription(sorted, "data");
+        assertEquals(expected, ints.toDataDescription("data"));
+        assertEquals(expected, longs.toDataDescription("data"));
+        assertEquals(expected, doubles.toDataDescription("data"));
+        assertEquals(new FrequencyDistTable(data, 3), doubles.toFrequencyDistTable(3));
+        assertEquals(new FrequencyDistTable(data, 3), ints.toFrequencyDistTable(3));
+
+        longs.sort();
+        assertEquals(5, longs.binarySearch(5L));
+        doubles.add(Double.NaN);
+        assertEquals(data.length, doubles.indexOf(Double.NaN));
+        assertEquals(new DoubleList(new double[] {Double.NaN}), new DoubleList(new double[] {Double.NaN}));
+    }
+
+}
@@ -19,6 +19,7 @@ package com.twistral.tests.collections;
 
 
 import com.twistral.tephrium.collections.TArrays;
+import com.twistral.tephrium.core.TephriumException;
 import com.twistral.tephrium.core.functions.TMath;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,7 +27,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.Random;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class TArraysTest {
 
@@ -64,4 +65,83 @@ public class TArraysTest {
         for (int j = 0; j < ARR_SIZE; j++) assertTrue(arrl[j] == 0);
     }
 
+
+    @Test
+    @DisplayName("largeArrayOperationsTest")
+    void largeArrayOperationsTest() {
+        // Large enough to take the parallel paths when there is more than one core
+        final int ARR_SIZE = (1 << 20) + 12345;
+        Random random = new Random(1L);
+
+        int[] arri = new int[ARR_SIZE];
+        long[] arrl = new long[ARR_SIZE];
+        double[] arrd = new double[ARR_SIZE];
+        for (int j = 0; j < ARR_SIZE; j++) {
+            arri[j] = random.nextInt(2001) - 1000;
+            arrl[j] = random.nextLong() >> 20;
+            arrd[j] = random.nextInt(1000) / 8d; // exact sums, no matter the order
+        }
+
+        long sumi = 0L, suml = 0L;
+        double sumd = 0d;
+        for (int j = 0; j < ARR_SIZE; j++) {
+            sumi += arri[j];
+            suml += arrl[j];
+            sumd += arrd[j];
+        }
+        assertEquals(sumi, TArrays.sum(arri));
+        assertEquals(suml, TArrays.sum(arrl));
+        assertEquals(sumd, TArrays.sum(arrd));
+
+        assertEquals(Arrays.stream(arri).min().getAsInt(), TArrays.min(arri));
+        assertEquals(Arrays.stream(arri).max().getAsInt(), TArrays.max(arri));
+        assertEquals(Arrays.stream(arrl).min().getAsLong(), TArrays.min(arrl));
+        assertEquals(Arrays.stream(arrl).max().getAsLong(), TArrays.max(arrl));
+        assertEquals(Arrays.stream(arrd).min().getAsDouble(), TArrays.min(arrd));
+        assertEquals(Arrays.stream(arrd).max().getAsDouble(), TArrays.max(arrd));
+
+        // A NaN in any chunk gives NaN, whether the array is split or not. The NaN is placed at the start of
+        // a chunk since a plain '<' loop would skip the rest of that chunk there.
+        double[] withNaN = arrd.clone();
+        withNaN[ARR_SIZE / 2] = Double.NaN;
+        withNaN[ARR_SIZE / 2 + 1] = -100d;
+        assertEquals(Double.NaN, TArrays.min(withNaN));
+        assertEquals(Double.NaN, TArrays.max(withNaN));
+        assertEquals(Double.NaN, TArrays.min(new double[] {1d, Double.NaN, -1d}));
+        assertEquals(-0d, TArrays.min(new double[] {0d, -0d}));
+        assertEquals(0d, TArrays.max(new double[] {-0d, 0d}));
+
+        assertThrows(TephriumException.class, () -> TArrays.min(new int[0]));
+        assertThrows(TephriumException.class, () -> TArrays.max(new double[0]));
+        assertEquals(0L, TArrays.sum(new long[0]));
+
+        int[] prefixi = arri.clone();
+        double[] prefixd = arrd.clone();
+        TArrays.prefixSum(prefixi);
+        TArrays.prefixSum(prefixd);
+        int runningi = 0;
+        double runningd = 0d;
+        for (int j = 0; j < ARR_SIZE; j++) {
+            runningi += arri[j];
+            runningd += arrd[j];
+            assertEquals(runningi, prefixi[j]);
+            assertEquals(runningd, prefixd[j]);
+        }
+
+        int[] copy = new int[ARR_SIZE + 10];
+        TArrays.copy(arri, 0, copy, 10, ARR_SIZE);
+        assertArrayEquals(arri, Arrays.copyOfRange(copy, 10, ARR_SIZE + 10));
+
+        // Overlapping ranges of the same array
+        int[] shifted = arri.clone();
+        TArrays.copy(shifted, 0, shifted, 1, ARR_SIZE - 1);
+        assertEquals(arri[0], shifted[0]);
+        assertArrayEquals(Arrays.copyOfRange(arri, 0, ARR_SIZE - 1), Arrays.copyOfRange(shifted, 1, ARR_SIZE));
+        assertThrows(TephriumException.class, () -> TArrays.copy(arri, 1, copy, 0, ARR_SIZE));
+
+        long[] filled = new long[ARR_SIZE];
+        TArrays.fill(filled, 42L);
+        for (int j = 0; j < ARR_SIZE; j++) assertEquals(42L, filled[j]);
+    }
+
 }
@@ -19,10 +19,13 @@ package com.twistral.tests.collections;
 
 
 import com.twistral.tephrium.collections.TCollections;
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.prng.SplitMix64Random;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -123,4 +126,157 @@ public class TCollectionsTest {
         assertEquals(set1, set2);
     }
 
+
+    @Test
+    @DisplayName("shuffleTest")
+    void shuffleTest() {
+        final int SIZE = 1000;
+        ArrayList<Integer> arrayList = new ArrayList<>();
+        LinkedList<Integer> linkedList = new LinkedList<>();
+        int[] ints = new int[SIZE];
+        long[] longs = new long[SIZE];
+        Integer[] objects = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            arrayList.add(i);
+            linkedList.add(i);
+            ints[i] = i;
+            longs[i] = i;
+            objects[i] = i;
+        }
+
+        // Every path gives the same permutation for the same seed
+        TCollections.shuffle(arrayList, new SplitMix64Random(7L));
+        TCollections.shuffle(linkedList, new SplitMix64Random(7L));
+        TCollections.shuffle(ints, new SplitMix64Random(7L));
+        TCollections.shuffle(longs, new SplitMix64Random(7L));
+        TCollections.shuffle(objects, new SplitMix64Random(7L));
+
+        assertEquals(arrayList, linkedList);
+        assertEquals(arrayList, Arrays.asList(objects));
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals((int) arrayList.get(i), ints[i]);
+            assertEquals(ints[i], longs[i]);
+        }
+
+        int[] sorted = ints.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < SIZE; i++) assertEquals(i, sorted[i]);
+        assertFalse(Arrays.equals(sorted, ints));
+    }
+
+
+    @Test
+    @DisplayName("parallelShuffleTest")
+    void parallelShuffleTest() {
+        // Large enough to be split into 4 parts and merged twice
+        final int SIZE = 1 << 20;
+        int[] ints = new int[SIZE];
+        long[] longs = new long[SIZE];
+        Integer[] objects = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ints[i] = i;
+            longs[i] = i;
+            objects[i] = i;
+        }
+
+        int[] ints2 = ints.clone();
+        TCollections.parallelShuffle(ints, new SplitMix64Random(3L));
+        TCollections.parallelShuffle(ints2, new SplitMix64Random(3L));
+        TCollections.parallelShuffle(longs, new SplitMix64Random(3L));
+        TCollections.parallelShuffle(objects, new SplitMix64Random(3L));
+        assertArrayEquals(ints, ints2);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(ints[i], longs[i]);
+            assertEquals(ints[i], (int) objects[i]);
+        }
+
+        TCollections.parallelShuffle(ints2, new SplitMix64Random(4L));
+        assertFalse(Arrays.equals(ints, ints2));
+
+        int[] sorted = ints.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < SIZE; i++) assertEquals(i, sorted[i]);
+
+        // The merges must mix the parts: each quarter of the input should end up spread evenly over the
+        // quarters of the output, with a count around SIZE/16 (standard deviation is ~190)
+        int[][] counts = new int[4][4];
+        for (int i = 0; i < SIZE; i++) counts[ints[i] / (SIZE / 4)][i / (SIZE / 4)]++;
+        for (int[] row : counts) {
+            for (int count : row) assertTrue(Math.abs(count - SIZE / 16) < 2000);
+        }
+    }
+
+
+    @Test
+    @DisplayName("samplingTest")
+    void samplingTest() {
+        final int TRIALS = 100000;
+        SplitMix64Random random = new SplitMix64Random(11L);
+        ArrayList<Integer> arrayList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) arrayList.add(i);
+        LinkedList<Integer> linkedList = new LinkedList<>(arrayList);
+
+        // Every element of the population should be picked with a chance of k/n = 1/4
+        int[] listCounts = new int[20], linkedCounts = new int[20], reservoirCounts = new int[1000];
+        for (int t = 0; t < TRIALS; t++) {
+            List<Integer> sample = TCollections.sample(arrayList, 5, random);
+            assertEquals(5, new HashSet<>(sample).size());
+            for (int element : sample) listCounts[element]++;
+
+            for (int element : TCollections.sample(linkedList, 5, random)) linkedCounts[element]++;
+
+            List<Integer> reservoir = TCollections.reservoirSample(IntStream.range(0, 1000).boxed(), 250, random);
+            assertEquals(250, new HashSet<>(reservoir).size());
+            if(t < TRIALS / 10) for (int element : reservoir) reservoirCounts[element]++;
+        }
+        for (int count : listCounts) assertEquals(0.25, count / (double) TRIALS, 0.01);
+        for (int count : linkedCounts) assertEquals(0.25, count / (double) TRIALS, 0.01);
+        for (int count : reservoirCounts) assertEquals(0.25, count / (TRIALS / 10d), 0.03);
+
+        assertEquals(arrayList.size(), TCollections.sample(arrayList, 20, random).size());
+        assertEquals(3, TCollections.reservoirSample(Arrays.asList(1, 2, 3).iterator(), 10, random).size());
+        assertTrue(TCollections.reservoirSample(arrayList.iterator(), 0, random).isEmpty());
+        assertThrows(TephriumException.class, () -> TCollections.sample(arrayList, 21, random));
+        assertThrows(TephriumException.class, () -> TCollections.reservoirSample(arrayList.iterator(), -1, random));
+    }
+
+
+    @Test
+    @DisplayName("weightedSamplingTest")
+    void weightedSamplingTest() {
+        final int TRIALS = 100000;
+        SplitMix64Random random = new SplitMix64Random(12L);
+        List<Integer> weights = Arrays.asList(1, 2, 3, 4, 0, 10); // element i has weight weights.get(i)
+        List<Integer> elements = Arrays.asList(0, 1, 2, 3, 4, 5);
+
+        // With k=1, the chance of an element is its weight over the sum of weights
+        int[] counts = new int[6];
+        for (int t = 0; t < TRIALS; t++) {
+            List<Integer> sample = TCollections.weightedReservoirSample(elements.stream(), weights::get, 1, random);
+            assertEquals(1, sample.size());
+            counts[sample.get(0)]++;
+        }
+        for (int i = 0; i < 6; i++) assertEquals(weights.get(i) / 20d, counts[i] / (double) TRIALS, 0.01);
+
+        // Samples of many elements skip most of the stream, but must still pick heavier elements more often
+        int light = 0, heavy = 0;
+        for (int t = 0; t < 200; t++) {
+            List<Integer> sample = TCollections.weightedReservoirSample(IntStream.range(0, 10000).boxed(),
+                    i -> (i % 2 == 0) ? 1d : 3d, 100, random);
+            assertEquals(100, new HashSet<>(sample).size());
+            for (int element : sample) {
+                if(element % 2 == 0) light++;
+                else heavy++;
+            }
+        }
+        assertEquals(0.75, heavy / (double) (light + heavy), 0.02);
+
+        // Zero weights are never picked, even when there are fewer than k positive ones
+        List<Integer> sample = TCollections.weightedReservoirSample(elements.iterator(), weights::get, 6, random);
+        assertEquals(5, sample.size());
+        assertFalse(sample.contains(4));
+        assertThrows(TephriumException.class, () -> TCollections.weightedReservoirSample(
+                elements.iterator(), i -> -1d, 2, random));
+    }
+
 }
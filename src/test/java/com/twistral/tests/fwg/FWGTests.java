@@ -18,17 +18,31 @@
 package com.twistral.tests.fwg;
 
 
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.fwg.ChunkCounter;
+import com.twistral.tephrium.fwg.ChunkModel;
 import com.twistral.tephrium.fwg.ChunkifiedFWG;
 import com.twistral.tephrium.fwg.EnglishCorpus;
 import com.twistral.tephrium.fwg.FrommatFWG;
 import com.twistral.tephrium.fwg.GibberishFWG;
 import com.twistral.tephrium.prng.JavaSplittableRandom;
 import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.prng.TThreadLocalRandom;
 import com.twistral.tephrium.strings.TStringUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -103,6 +117,127 @@ public class FWGTests {
     }
 
 
+    @Test
+    @DisplayName("chunkModelTest")
+    void chunkModelTest() {
+        final int[] freqs = ChunkifiedFWG.freqFromWords(Arrays.stream(new String[] {
+                "banana", "bandana", "cabana", "nanny"
+        }));
+        ChunkModel model = new ChunkModel(freqs);
+        assertEquals(model, new ChunkModel(freqs));
+        assertArrayEquals(freqs, model.getFrequencies());
+        assertSame(ChunkModel.fromCorpus(), ChunkModel.fromCorpus());
+        assertThrows(TephriumException.class, () -> new ChunkModel(new int[10]));
+
+        // Instances sharing a model with the same seed must generate the same words
+        ChunkifiedFWG fwg1 = new ChunkifiedFWG(model, new SplitMix64Random(99L), 1000);
+        ChunkifiedFWG fwg2 = new ChunkifiedFWG(model, new SplitMix64Random(99L), 1000);
+        for (int i = 0; i < 10_000; i++) {
+            final String fw = fwg1.generateFakeWord(12, 'b');
+            assertEquals(fw, fwg2.generateFakeWord(12, 'b'));
+
+            // Dead ends ("nny" and "ana" at the end of words) must rewind instead of leaving gaps,
+            // so every chunk of a generated word must exist in the frequency array
+            for (int j = 0; j + 3 <= fw.length(); j++) {
+                final int ci = fw.charAt(j) - 'a', cj = fw.charAt(j+1) - 'a', ck = fw.charAt(j+2) - 'a';
+                assertTrue(freqs[ci * 26 * 26 + cj * 26 + ck] > 0);
+            }
+        }
+    }
+
+
+    @Test
+    @DisplayName("chunkifiedFWGParallelTest")
+    void chunkifiedFwgParallelTest() throws Exception {
+        ChunkModel model = ChunkModel.fromCorpus();
+
+        // The same seed must give the same words, no matter which pool (or how many threads) is used
+        final String[] words = new ChunkifiedFWG(model, new SplitMix64Random(7L), 200).generateFakeWords(20_000, 9);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final String[] words2 = pool.submit(() ->
+                    new ChunkifiedFWG(model, new SplitMix64Random(7L), 200).generateFakeWords(20_000, 9)
+            ).get();
+            assertArrayEquals(words, words2);
+        }
+        finally {
+            pool.shutdown();
+        }
+        assertTrue(Arrays.stream(words).allMatch(w -> w.length() == 9));
+        assertTrue(Arrays.stream(words).map(w -> w.charAt(0)).distinct().count() > 20);
+
+        final String[] wordsX = new ChunkifiedFWG(model, new SplitMix64Random(7L), 200).generateFakeWords(1000, 5, 'x');
+        assertTrue(Arrays.stream(wordsX).allMatch(w -> w.length() == 5 && w.charAt(0) == 'x'));
+
+        // A single instance can be shared by many threads if every thread brings its own RNG
+        ChunkifiedFWG shared = new ChunkifiedFWG();
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            final String fw = shared.generateFakeWord(12, 'k', TThreadLocalRandom.current());
+            assertEquals(12, fw.length());
+            assertEquals('k', fw.charAt(0));
+        });
+    }
+
+
+    @Test
+    @DisplayName("chunkCounterTest")
+    void chunkCounterTest() throws Exception {
+        // Words are separated by any whitespace, upper case letters count as lower case letters
+        // and everything else is skipped, "Don't" is the same as "dont"
+        SplitMix64Random rand = new SplitMix64Random(11L);
+        final String[] separators = { " ", "\n", "\r\n", "\t", "  " };
+        final String[] noise = { "", "", "", "'", "!!", "1", "\u00e9", "-" };
+        StringBuilder text = new StringBuilder();
+        List<String> cleanWords = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            final String word = EnglishCorpus.randomWord(rand);
+            final int cut = rand.nextInt(0, word.length() + 1);
+            final String noisy = word.substring(0, cut) + noise[rand.nextInt(0, noise.length)] + word.substring(cut);
+            text.append(rand.nextBoolean() ? noisy : noisy.toUpperCase());
+            text.append(separators[rand.nextInt(0, separators.length)]);
+            cleanWords.add(word);
+        }
+        final byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        final int[] expected = ChunkifiedFWG.freqFromWords(cleanWords.stream());
+
+        assertArrayEquals(expected, new ChunkCounter().update(bytes, 0, bytes.length).getFrequencies());
+        assertArrayEquals(expected, new ChunkCounter().update(ByteBuffer.wrap(bytes)).getFrequencies());
+
+        // Words split between updates must still be counted
+        ChunkCounter pieces = new ChunkCounter();
+        for (int off = 0; off < bytes.length; ) {
+            final int len = Math.min(rand.nextInt(1, 20), bytes.length - off);
+            ByteBuffer direct = ByteBuffer.allocateDirect(len);
+            direct.put(bytes, off, len).flip();
+            pieces.update(direct);
+            off += len;
+        }
+        assertArrayEquals(expected, pieces.getFrequencies());
+
+        ChunkCounter channelCounter = new ChunkCounter()
+                .update(Channels.newChannel(new ByteArrayInputStream(bytes)));
+        assertArrayEquals(expected, channelCounter.getFrequencies());
+
+        Path file = Files.createTempFile("tephrium-chunks", ".txt");
+        try {
+            Files.write(file, bytes);
+            assertArrayEquals(expected, ChunkifiedFWG.freqFromFile(file));
+            for (int parts = 1; parts <= 8; parts++) {
+                assertArrayEquals(expected, ChunkCounter.countParallel(file, parts).getFrequencies());
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+
+        // Merging
+        ChunkCounter merged = new ChunkCounter().merge(expected).merge(channelCounter).endWord();
+        assertEquals(2 * Arrays.stream(expected).sum(), Arrays.stream(merged.getFrequencies()).sum());
+        assertEquals(new ChunkModel(expected), channelCounter.toModel());
+        assertThrows(TephriumException.class, () -> new ChunkCounter().merge(new int[3]));
+    }
+
+
     @Test
     @DisplayName("frommatFWGTest")
     void frommatFWGTest() {
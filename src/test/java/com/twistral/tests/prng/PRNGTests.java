@@ -0,0 +1,420 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tests.prng;
+
+
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.core.functions.TMath;
+import com.twistral.tephrium.prng.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class PRNGTests {
+
+
+    @Test
+    @DisplayName("bulkFillTest")
+    void bulkFillTest() {
+        final int ARR_SIZE = 1037;
+
+        for (long seed = -50; seed < 50; seed++) {
+            // Every bulk fill must continue the exact same sequence as the per-call methods
+            SplitMix64Random r1 = new SplitMix64Random(seed);
+            SplitMix64Random r2 = new SplitMix64Random(seed);
+
+            long[] arrl = new long[ARR_SIZE];
+            r1.fill(arrl);
+            for (int i = 0; i < ARR_SIZE; i++) assertEquals(r2.nextLong(), arrl[i]);
+
+            int[] arri = new int[ARR_SIZE];
+            r1.fill(arri);
+            for (int i = 0; i < ARR_SIZE; i++) assertEquals(r2.nextInt(), arri[i]);
+
+            double[] arrd = new double[ARR_SIZE];
+            r1.fill(arrd);
+            for (int i = 0; i < ARR_SIZE; i++) assertEquals(r2.nextDouble(), arrd[i]);
+
+            float[] arrf = new float[ARR_SIZE];
+            r1.fill(arrf);
+            for (int i = 0; i < ARR_SIZE; i++) assertEquals(r2.nextFloat(), arrf[i]);
+
+            LongBuffer heapLongs = LongBuffer.allocate(ARR_SIZE);
+            heapLongs.position(10);
+            r1.fill(heapLongs);
+            assertEquals(ARR_SIZE, heapLongs.position());
+            for (int i = 10; i < ARR_SIZE; i++) assertEquals(r2.nextLong(), heapLongs.get(i));
+
+            DoubleBuffer directDoubles = ByteBuffer.allocateDirect(ARR_SIZE * 8).asDoubleBuffer();
+            r1.fill(directDoubles);
+            assertEquals(ARR_SIZE, directDoubles.position());
+            for (int i = 0; i < ARR_SIZE; i++) assertEquals(r2.nextDouble(), directDoubles.get(i));
+
+            assertEquals(r2.nextLong(), r1.nextLong());
+        }
+
+        TRandomGenerator random = new JavaSplittableRandom(new SplittableRandom(1234L));
+        int[] arri = new int[ARR_SIZE];
+        double[] arrd = new double[ARR_SIZE];
+        for (int unused = 0; unused < 100; unused++) {
+            random.fill(arri, -20, 35);
+            for (int i : arri) assertTrue(-20 <= i && i < 35);
+
+            random.fill(arrd, 2d, 3d);
+            for (double d : arrd) assertTrue(2d <= d && d < 3d);
+        }
+    }
+
+
+    @Test
+    @DisplayName("splitMix64JumpingTest")
+    void splitMix64JumpingTest() {
+        for (long seed = -50; seed < 50; seed++) {
+            SplitMix64Random r1 = new SplitMix64Random(seed);
+            SplitMix64Random r2 = new SplitMix64Random(seed);
+            assertEquals(0L, r1.position());
+
+            // skip(n) must be the same as n calls
+            for (int i = 0; i < 1000; i++) r1.nextLong();
+            r2.skip(1000);
+            assertEquals(1000L, r1.position());
+            assertEquals(1000L, r2.position());
+            assertEquals(r1.nextLong(), r2.nextLong());
+
+            // Negative skips go backwards
+            final long expected = r1.nextLong();
+            r1.skip(-1);
+            assertEquals(expected, r1.nextLong());
+
+            // Splitting must partition the sequence into consecutive blocks
+            SplitMix64Random whole = new SplitMix64Random(seed);
+            SplitMix64Random parts = new SplitMix64Random(seed);
+            SplitMix64Random block1 = parts.split(300);
+            SplitMix64Random block2 = parts.split(700);
+            assertEquals(1000L, parts.position());
+            assertEquals(300L, block2.position());
+            for (int i = 0; i < 300; i++) assertEquals(whole.nextLong(), block1.nextLong());
+            for (int i = 0; i < 700; i++) assertEquals(whole.nextLong(), block2.nextLong());
+            assertEquals(whole.nextLong(), parts.nextLong());
+        }
+    }
+
+
+    @Test
+    @DisplayName("splitMix64StreamsTest")
+    void splitMix64StreamsTest() {
+        final int COUNT = 100_003;
+        SplitMix64Random random = new SplitMix64Random(42L);
+        long[] expectedLongs = new long[COUNT];
+        double[] expectedDoubles = new double[COUNT];
+        random.fill(expectedLongs);
+        random.fill(expectedDoubles);
+        final long afterBoth = random.nextLong();
+
+        SplitMix64Random sequential = new SplitMix64Random(42L);
+        assertArrayEquals(expectedLongs, sequential.longs(COUNT).toArray());
+        assertArrayEquals(expectedDoubles, sequential.doubles(COUNT).toArray());
+        assertEquals(afterBoth, sequential.nextLong());
+
+        // Results must be bit-identical whatever the parallelism
+        SplitMix64Random parallel = new SplitMix64Random(42L);
+        assertArrayEquals(expectedLongs, parallel.longs(COUNT).parallel().toArray());
+        assertArrayEquals(expectedDoubles, parallel.doubles(COUNT).parallel().toArray());
+        assertEquals(afterBoth, parallel.nextLong());
+
+        long[] partialSums = IntStream.range(0, 16).mapToLong(unused ->
+            new SplitMix64Random(42L).longs(COUNT).parallel().map(l -> l >>> 8).sum()
+        ).toArray();
+        for (long partialSum : partialSums) assertEquals(partialSums[0], partialSum);
+
+        assertEquals(0L, random.longs(0).count());
+        assertThrows(IllegalArgumentException.class, () -> random.doubles(-1));
+    }
+
+
+    @Test
+    @DisplayName("unsignedMultiplyHighTest")
+    void unsignedMultiplyHighTest() {
+        SplitMix64Random random = new SplitMix64Random(7L);
+        final long[] edgeCases = { 0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 0xFFFFFFFFL, 0x100000000L };
+
+        for (int i = 0; i < 10_000; i++) {
+            final long x = (i < 49) ? edgeCases[i % 7] : random.nextLong();
+            final long y = (i < 49) ? edgeCases[i / 7] : random.nextLong();
+            final BigInteger product = unsigned(x).multiply(unsigned(y));
+            assertEquals(product.shiftRight(64).longValue(), RNGUtils.unsignedMultiplyHigh(x, y));
+        }
+    }
+
+
+    @Test
+    @DisplayName("xoshiroFamilyTest")
+    void xoshiroFamilyTest() {
+        // Expected values come from the reference C implementations
+        Xoshiro256StarStarRandom x256 = new Xoshiro256StarStarRandom(1L, 2L, 3L, 4L);
+        assertEquals(11520L, x256.nextLong());
+        assertEquals(0L, x256.nextLong());
+        assertEquals(1509978240L, x256.nextLong());
+        assertEquals(1215971899390074240L, x256.nextLong());
+
+        x256 = new Xoshiro256StarStarRandom(1L, 2L, 3L, 4L);
+        Xoshiro256StarStarRandom x256Copy = x256.copy();
+        x256.jump();
+        assertEquals(-4912596984176294952L, x256.nextLong());
+        assertEquals(7126240192422241655L, x256.nextLong());
+        x256Copy.longJump();
+        assertEquals(5942309088398569549L, x256Copy.nextLong());
+        assertEquals(-2821296343772193180L, x256Copy.nextLong());
+
+        Xoroshiro128PlusPlusRandom x128 = new Xoroshiro128PlusPlusRandom(1L, 2L);
+        assertEquals(393217L, x128.nextLong());
+        assertEquals(669327710093319L, x128.nextLong());
+        assertEquals(1732421326133921491L, x128.nextLong());
+        assertEquals(-7051953992050424633L, x128.nextLong());
+
+        x128 = new Xoroshiro128PlusPlusRandom(1L, 2L);
+        Xoroshiro128PlusPlusRandom x128Copy = x128.copy();
+        x128.jump();
+        assertEquals(6995778298204176446L, x128.nextLong());
+        assertEquals(-840402565351164743L, x128.nextLong());
+        x128Copy.longJump();
+        assertEquals(-4969865514671635588L, x128Copy.nextLong());
+        assertEquals(4599739792799904096L, x128Copy.nextLong());
+
+        assertThrows(TephriumException.class, () -> new Xoshiro256StarStarRandom(0L, 0L, 0L, 0L));
+        assertThrows(TephriumException.class, () -> new Xoroshiro128PlusPlusRandom(0L, 0L));
+
+        // Same seeds must give the same sequences
+        Xoshiro256StarStarRandom r1 = new Xoshiro256StarStarRandom(0L), r2 = new Xoshiro256StarStarRandom(0L);
+        Xoroshiro128PlusPlusRandom r3 = new Xoroshiro128PlusPlusRandom(0L), r4 = new Xoroshiro128PlusPlusRandom(0L);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(r1.nextLong(), r2.nextLong());
+            assertEquals(r3.nextLong(), r4.nextLong());
+        }
+    }
+
+
+    @Test
+    @DisplayName("pcg64Test")
+    void pcg64Test() {
+        // Expected values come from the PCG library's pcg64 demo with seed=42 and stream=54
+        PCG64Random pcg = new PCG64Random(42L, 54L);
+        assertEquals(0x86B1DA1D72062B68L, pcg.nextLong());
+        assertEquals(0x1304AA46C9853D39L, pcg.nextLong());
+        assertEquals(0xA3670E9E0DD50358L, pcg.nextLong());
+        assertEquals(0xF9090E529A7DAE00L, pcg.nextLong());
+        assertEquals(0xC85B9FD837996F2CL, pcg.nextLong());
+        assertEquals(0x606121F8E3919196L, pcg.nextLong());
+
+        PCG64Random defaultStream = new PCG64Random(7L);
+        assertEquals(2314236103276969522L, defaultStream.nextLong());
+        assertEquals(-2204495701465264937L, defaultStream.nextLong());
+
+        pcg = new PCG64Random(42L, 54L);
+        PCG64Random pcgCopy = pcg.copy();
+        pcg.jump();
+        assertEquals(-4257027698126636116L, pcg.nextLong());
+        assertEquals(3382994110030493637L, pcg.nextLong());
+        pcgCopy.longJump();
+        assertEquals(3127893474211750406L, pcgCopy.nextLong());
+        assertEquals(-5547010681143127631L, pcgCopy.nextLong());
+
+        // advance(n) must be the same as n calls
+        for (int n = 0; n < 2000; n += 37) {
+            PCG64Random stepped = new PCG64Random(n, 3L);
+            PCG64Random advanced = stepped.copy();
+            for (int i = 0; i < n; i++) stepped.nextLong();
+            advanced.advance(n);
+            assertEquals(stepped.nextLong(), advanced.nextLong());
+        }
+
+        // Different streams must give different sequences
+        assertNotEquals(new PCG64Random(42L, 1L).nextLong(), new PCG64Random(42L, 2L).nextLong());
+    }
+
+
+    @Test
+    @DisplayName("threadLocalRandomTest")
+    void threadLocalRandomTest() throws Exception {
+        final TRandomGenerator mainRandom = TThreadLocalRandom.current();
+        assertSame(mainRandom, TThreadLocalRandom.current());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<TRandomGenerator> other = executor.submit(TThreadLocalRandom::current);
+            assertNotSame(mainRandom, other.get());
+
+            // Different threads must not generate the same sequence
+            Future<long[]> otherValues = executor.submit(() -> {
+                long[] arr = new long[16];
+                TThreadLocalRandom.current().fill(arr);
+                return arr;
+            });
+            long[] mainValues = new long[16];
+            mainRandom.fill(mainValues);
+            assertFalse(Arrays.equals(mainValues, otherValues.get()));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    @DisplayName("boundedRangeTest")
+    void boundedRangeTest() {
+        TRandomGenerator random = new SplitMix64Random(99L);
+
+        for (int i = 0; i < 100_000; i++) {
+            final int lo = random.nextInt(), hi = random.nextInt();
+            final int a = TMath.min(lo, hi), b = TMath.max(lo, hi);
+            final int vi = random.nextInt(a, b);
+            assertTrue(a == b ? vi == a : (a <= vi && vi < b));
+
+            final long llo = random.nextLong(), lhi = random.nextLong();
+            final long la = TMath.min(llo, lhi), lb = TMath.max(llo, lhi);
+            final long vl = random.nextLong(la, lb);
+            assertTrue(la == lb ? vl == la : (la <= vl && vl < lb));
+        }
+
+        // Ranges longer than MAX_VALUE and powers of two
+        for (int i = 0; i < 100_000; i++) {
+            final int vi = random.nextInt(Integer.MIN_VALUE + 5, Integer.MAX_VALUE - 5);
+            assertTrue(Integer.MIN_VALUE + 5 <= vi && vi < Integer.MAX_VALUE - 5);
+            final long vl = random.nextLong(Long.MIN_VALUE + 5, Long.MAX_VALUE - 5);
+            assertTrue(Long.MIN_VALUE + 5 <= vl && vl < Long.MAX_VALUE - 5);
+            final int pi = random.nextInt(-64, 64);
+            assertTrue(-64 <= pi && pi < 64);
+            final long pl = random.nextLong(0L, 1L << 40);
+            assertTrue(0L <= pl && pl < (1L << 40));
+        }
+
+        assertEquals(5, random.nextInt(5, 5));
+        assertEquals(5L, random.nextLong(5L, 5L));
+    }
+
+
+    /**
+     * A plain multiply-shift (which the old nextInt(int, int) basically was) maps 2^32 inputs onto
+     * {@code bound} outputs. For bound = 3 * 2^29, every third output gets 2 inputs instead of 3, so
+     * {@code value % 3 == 2} only happens with 1/4 probability instead of 1/3. Rejection removes this bias.
+     */
+    @Test
+    @DisplayName("boundedUniformityTest")
+    void boundedUniformityTest() {
+        final int SAMPLE_COUNT = 300_000;
+        TRandomGenerator random = new SplitMix64Random(1234L);
+
+        final int bigIntBound = 3 << 29;
+        final long bigLongBound = 3L << 61;
+        int[] intResidues = new int[3];
+        int[] longResidues = new int[3];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            intResidues[random.nextInt(0, bigIntBound) % 3]++;
+            longResidues[(int) (random.nextLong(0L, bigLongBound) % 3L)]++;
+        }
+        for (int r = 0; r < 3; r++) {
+            assertEquals(1d / 3d, intResidues[r] / (double) SAMPLE_COUNT, 0.01d);
+            assertEquals(1d / 3d, longResidues[r] / (double) SAMPLE_COUNT, 0.01d);
+        }
+
+        // Chi-square goodness of fit test on smaller bounds at p=0.001
+        for (int bound : new int[] { 10, 7 * 17 }) {
+            long[] counts = new long[bound];
+            for (int i = 0; i < SAMPLE_COUNT; i++) counts[random.nextInt(0, bound)]++;
+            assertTrue(chiSquare(counts, SAMPLE_COUNT) < chiSquareCritical(bound - 1));
+        }
+    }
+
+
+    @Test
+    @DisplayName("aliasSamplerTest")
+    void aliasSamplerTest() {
+        final int SAMPLE_COUNT = 300_000;
+        TRandomGenerator random = new SplitMix64Random(5678L);
+
+        // Zero weights must never be drawn, the rest must follow the weights (chi-square at p=0.001)
+        final int[] weights = { 5, 0, 1, 30, 0, 12, 7, 1, 1, 80, 2 };
+        final int weightSum = Arrays.stream(weights).sum();
+        AliasSampler sampler = new AliasSampler(weights);
+        assertEquals(weights.length, sampler.size());
+
+        long[] counts = new long[weights.length];
+        for (int i = 0; i < SAMPLE_COUNT; i++) counts[sampler.sample(random)]++;
+
+        double chiSquare = 0d;
+        int nonZeroCount = 0;
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i] / (double) weightSum, sampler.getProbability(i), 1e-12d);
+            if(weights[i] == 0) {
+                assertEquals(0L, counts[i]);
+                continue;
+            }
+            final double expected = SAMPLE_COUNT * sampler.getProbability(i);
+            chiSquare += (counts[i] - expected) * (counts[i] - expected) / expected;
+            nonZeroCount++;
+        }
+        assertTrue(chiSquare < chiSquareCritical(nonZeroCount - 1));
+
+        // Double weights behave the same and a single weight is always drawn
+        assertEquals(sampler, new AliasSampler(Arrays.stream(weights).asDoubleStream().toArray()));
+        AliasSampler single = new AliasSampler(new double[] { 0d, 0.25d, 0d });
+        int[] draws = new int[1000];
+        single.fill(draws, random);
+        assertTrue(Arrays.stream(draws).allMatch(i -> i == 1));
+
+        assertThrows(TephriumException.class, () -> new AliasSampler(new int[0]));
+        assertThrows(TephriumException.class, () -> new AliasSampler(new int[] { 0, 0 }));
+        assertThrows(TephriumException.class, () -> new AliasSampler(new int[] { 3, -1 }));
+        assertThrows(TephriumException.class, () -> new AliasSampler(new double[] { 1d, Double.NaN }));
+        assertThrows(TephriumException.class, () -> new AliasSampler(new double[] { 1d, Double.POSITIVE_INFINITY }));
+    }
+
+
+    // Wilson-Hilferty approximation of the chi-square distribution's 99.9th percentile
+    private static double chiSquareCritical(int degreesOfFreedom) {
+        final double k = degreesOfFreedom, z = 3.090232d;
+        final double t = 1d - 2d / (9d * k) + z * Math.sqrt(2d / (9d * k));
+        return k * t * t * t;
+    }
+
+
+    private static double chiSquare(long[] counts, int sampleCount) {
+        final double expected = sampleCount / (double) counts.length;
+        double chiSquare = 0d;
+        for (long count : counts) chiSquare += (count - expected) * (count - expected) / expected;
+        return chiSquare;
+    }
+
+
+    private static BigInteger unsigned(long x) {
+        return BigInteger.valueOf(x).and(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+    }
+
+
+}
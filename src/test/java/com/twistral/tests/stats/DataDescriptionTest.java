@@ -15,6 +15,7 @@
 
 package com.twistral.tests.stats;
 
+import com.twistral.tephrium.core.TephriumException;
 import com.twistral.tephrium.core.functions.TMath;
 import com.twistral.tephrium.stats.DataDescription;
 import com.twistral.TephriumTestFramework.*;
@@ -24,6 +25,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
 
 
 public class DataDescriptionTest {
@@ -125,4 +128,205 @@ public class DataDescriptionTest {
     }
 
 
+    @Test
+    @DisplayName("unsortedDataDescTest")
+    void unsortedDataDescTest() {
+        // Ties go to the smallest value, and -0.0 and 0.0 are counted as different values like before
+        double[] ties = new double[]{5, 3, 5, 3, -0.0, 0.0, 9, 5, 3, 0.0};
+        double[] sortedTies = ties.clone();
+        Arrays.sort(sortedTies);
+        DataDescription sortedDesc = new DataDescription(sortedTies, "ties");
+        DataDescription unsortedDesc = DataDescription.ofUnsorted(ties, "ties");
+        assertTrue(TMath.equalsd(sortedDesc.modeValue, 3));
+        assertTrue(TMath.equalsd(sortedDesc.modeCount, 3));
+        assertEquals(sortedDesc, unsortedDesc);
+        assertEquals(5d, ties[0]); // not modified
+        assertEquals(-0d, unsortedDesc.min); // equals doesn't tell the zeros apart, assertEquals does
+        assertEquals(0d, DataDescription.ofUnsorted(new double[]{-0.0, 0.0, -0.0, -1}).max);
+
+        Random random = new Random(8L);
+        for (int trial = 0; trial < 20; trial++) {
+            final int size = 4 + random.nextInt(200000);
+            final int distinct = 1 + random.nextInt(size);
+            double[] data = new double[size];
+            for (int i = 0; i < size; i++) data[i] = random.nextInt(distinct) / 4d - 100;
+            double[] sortedData = data.clone();
+            Arrays.sort(sortedData);
+            assertClose(new DataDescription(sortedData), DataDescription.ofUnsorted(data), data);
+        }
+
+        // Orders that make simple quickselects quadratic
+        final int SIZE = 100001;
+        double[][] patterns = new double[5][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            patterns[0][i] = i;
+            patterns[1][i] = SIZE - i;
+            patterns[2][i] = Math.min(i, SIZE - i);
+            patterns[3][i] = 42;
+            patterns[4][i] = random.nextGaussian();
+        }
+        for (double[] data : patterns) {
+            double[] sortedData = data.clone();
+            Arrays.sort(sortedData);
+            DataDescription expected = new DataDescription(sortedData);
+            assertClose(expected, DataDescription.ofUnsorted(data), data);
+
+            double[] copy = data.clone();
+            assertClose(expected, DataDescription.ofUnsorted(copy, "Unnamed", true), data);
+            Arrays.sort(copy);
+            assertArrayEquals(sortedData, copy); // only reordered
+        }
+
+        // Like in sorted data, NaNs come after every other value
+        double[] withNaNs = patterns[4].clone();
+        for (int i = 0; i < SIZE; i += 100) withNaNs[i] = Double.NaN;
+        for (int i = 0; i < 10; i++) withNaNs[SIZE - 1 - i] = Double.NaN;
+        double[] sortedWithNaNs = withNaNs.clone();
+        Arrays.sort(sortedWithNaNs);
+        DataDescription expected = new DataDescription(sortedWithNaNs);
+        DataDescription actual = DataDescription.ofUnsorted(withNaNs);
+        assertEquals(expected.min, actual.min);
+        assertEquals(expected.max, actual.max);
+        assertEquals(expected.quartile1, actual.quartile1);
+        assertEquals(expected.median, actual.median);
+        assertEquals(expected.quartile3, actual.quartile3);
+
+        assertTrue(Double.isNaN(DataDescription.ofUnsorted(new double[]{4, 1, 3, 2}).modeValue));
+        assertThrows(TephriumException.class, () -> DataDescription.ofUnsorted(new double[]{1, 2, 3}));
+    }
+
+
+    // Sums added in a different order can differ by the rounding error of the naive sum of the values,
+    // the order statistics must be exact
+    private static void assertClose(DataDescription expected, DataDescription actual, double[] data) {
+        double absoluteSum = 0d;
+        for (double value : data) absoluteSum += Math.abs(value);
+        final double sumError = data.length * 0x1p-53 * absoluteSum;
+
+        assertEquals(expected.count, actual.count);
+        assertEquals(expected.sum, actual.sum, sumError);
+        assertEquals(expected.mean, actual.mean, sumError / data.length);
+        assertEquals(expected.variance, actual.variance, 1e-9 * expected.variance);
+        assertEquals(expected.sampleVariance, actual.sampleVariance, 1e-9 * expected.sampleVariance);
+        assertEquals(expected.min, actual.min);
+        assertEquals(expected.max, actual.max);
+        assertEquals(expected.quartile1, actual.quartile1);
+        assertEquals(expected.quartile2, actual.quartile2);
+        assertEquals(expected.quartile3, actual.quartile3);
+        assertEquals(expected.modeValue, actual.modeValue);
+        assertEquals(expected.modeCount, actual.modeCount);
+        assertEquals(expected.dataName, actual.dataName);
+    }
+
+
+    @Test
+    @DisplayName("parallelDataDescTest")
+    void parallelDataDescTest() {
+        Random random = new Random(9L);
+        // From very long runs that span many chunks to mostly distinct values
+        for (int distinct : new int[]{1, 3, 40, 5000, 1000000}) {
+            final int size = (1 << 20) + random.nextInt(1 << 16);
+            double[] sortedData = new double[size];
+            for (int i = 0; i < size; i++) sortedData[i] = random.nextInt(distinct) * 0.1 - 3;
+            Arrays.sort(sortedData);
+
+            DataDescription parallel = DataDescription.parallel(sortedData, "par");
+            assertClose(new DataDescription(sortedData, "par"), parallel, sortedData);
+            assertEquals(parallel, DataDescription.parallel(sortedData, "par"));
+        }
+
+        // The longest run is at the end of one chunk and the start of the next one
+        double[] boundary = new double[1 << 19];
+        for (int i = 0; i < boundary.length; i++) boundary[i] = i;
+        Arrays.fill(boundary, (1 << 16) - 10, (1 << 16) + 10, 1 << 16);
+        Arrays.sort(boundary);
+        DataDescription parallel = DataDescription.parallel(boundary);
+        assertTrue(TMath.equalsd(parallel.modeValue, 1 << 16));
+        assertTrue(TMath.equalsd(parallel.modeCount, 20));
+
+        // Small arrays are described serially
+        double[] small = new double[]{1, 2, 2, 3, 7};
+        assertEquals(new DataDescription(small), DataDescription.parallel(small));
+    }
+
+
+    @Test
+    @DisplayName("builderTest")
+    void builderTest() {
+        double[] data = new double[]{1, 2, 3, -2, -3, 5, 7, -9, 10, 100};
+        double[] sortedData = data.clone();
+        Arrays.sort(sortedData);
+        DataDescription exact = new DataDescription(sortedData, "arr");
+
+        DataDescription.Builder builder = new DataDescription.Builder().addAll(data);
+        DataDescription streamed = builder.build("arr");
+        assertEquals(10, builder.count());
+        assertTrue(TMath.equalsd(streamed.count, exact.count));
+        assertTrue(TMath.equalsd(streamed.sum, exact.sum));
+        assertTrue(TMath.equalsd(streamed.mean, exact.mean));
+        assertTrue(TMath.equalsd(streamed.min, exact.min));
+        assertTrue(TMath.equalsd(streamed.max, exact.max));
+        assertTrue(TMath.equalsd(streamed.range, exact.range));
+        assertTrue(TMath.equalsd(streamed.variance, 898.24));
+        assertTrue(TMath.equalsd(streamed.sampleVariance, 998.04444444444));
+        assertTrue(TMath.equalsd(exact.sampleVariance, 998.04444444444));
+        assertTrue(TMath.equalsd(streamed.stddev, exact.stddev));
+        assertTrue(Double.isNaN(streamed.median) && Double.isNaN(streamed.modeValue));
+        assertTrue(Double.isNaN(streamed.bowleySkewCoef) && Double.isNaN(streamed.pearsonSkewCoef));
+
+        // The third central moment directly from its definition
+        double m3 = 0d;
+        for (double value : data) m3 += Math.pow(value - exact.mean, 3);
+        assertEquals(Math.sqrt(10) * m3 / Math.pow(exact.variance * 10, 1.5), builder.skewness(), 1e-12);
+
+        // Any split of the data must combine into the same summary
+        DataDescription.Builder left = new DataDescription.Builder().addAll(1, 2, 3);
+        DataDescription.Builder right = new DataDescription.Builder().addAll(-2, -3, 5, 7, -9, 10, 100);
+        left.combine(new DataDescription.Builder()).combine(right);
+        assertEquals(builder.mean(), left.mean(), 1e-12);
+        assertEquals(builder.variance(), left.variance(), 1e-9);
+        assertEquals(builder.skewness(), left.skewness(), 1e-12);
+        assertEquals(builder.sum(), left.sum());
+        assertEquals(builder.min(), left.min());
+        assertEquals(builder.max(), left.max());
+        assertEquals(0L, new DataDescription.Builder().count());
+        assertThrows(TephriumException.class, () -> new DataDescription.Builder().build());
+    }
+
+
+    @Test
+    @DisplayName("builderCollectorTest")
+    void builderCollectorTest() {
+        // A large offset makes the naive sum-of-squares formula lose every digit of the variance
+        final int SIZE = 1000000;
+        Random random = new Random(5L);
+        double[] data = new double[SIZE];
+        int[] offsets = new int[SIZE];
+        long offsetSum = 0L;
+        for (int i = 0; i < SIZE; i++) {
+            offsets[i] = random.nextInt(100);
+            offsetSum += offsets[i];
+            data[i] = 1e9 + offsets[i];
+        }
+
+        // Exact references, computed from the small offsets
+        final double offsetMean = offsetSum / (double) SIZE;
+        double m2 = 0d;
+        for (int offset : offsets) m2 += (offset - offsetMean) * (offset - offsetMean);
+
+        DataDescription sequential = DoubleStream.of(data).collect(
+                DataDescription.Builder::new, DataDescription.Builder::accept, DataDescription.Builder::combine)
+                .build();
+        DataDescription parallel = Arrays.stream(data).boxed().parallel()
+                .collect(DataDescription.toDataDescription(Double::doubleValue, "offset"));
+
+        for (DataDescription desc : new DataDescription[]{sequential, parallel}) {
+            assertTrue(TMath.equalsd(desc.count, SIZE));
+            assertEquals(1e9 + offsetMean, desc.mean, 1e-6);
+            assertEquals(m2 / SIZE, desc.variance, 1e-6);
+            assertEquals(1e15 + offsetSum, desc.sum);
+        }
+        assertEquals("offset", parallel.dataName);
+    }
+
 }
@@ -0,0 +1,89 @@
+// Copyright 2024-2025 Oğuzhan Topaloğlu
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+
+package com.twistral.tests.stats;
+
+
+import com.twistral.tephrium.core.TephriumException;
+import com.twistral.tephrium.core.functions.TMath;
+import com.twistral.tephrium.prng.SplitMix64Random;
+import com.twistral.tephrium.stats.DataDescription;
+import com.twistral.tephrium.stats.KLLSketch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class KLLSketchTest {
+
+    @Test
+    @DisplayName("kllSketchTest")
+    void kllSketchTest() {
+        final int SIZE = 1000000;
+        SplitMix64Random random = new SplitMix64Random(21L);
+        double[] data = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) data[i] = Math.exp(random.nextDouble() * 10); // skewed to right
+        double[] sortedData = data.clone();
+        Arrays.sort(sortedData);
+
+        KLLSketch sketch = new KLLSketch(200, new SplitMix64Random(1L));
+        KLLSketch[] shards = new KLLSketch[8];
+        for (int i = 0; i < shards.length; i++) shards[i] = new KLLSketch(200, new SplitMix64Random(2L + i));
+        for (int i = 0; i < SIZE; i++) {
+            sketch.add(data[i]);
+            shards[i % shards.length].add(data[i]);
+        }
+        KLLSketch merged = new KLLSketch(200, new SplitMix64Random(10L));
+        for (KLLSketch shard : shards) merged.merge(shard);
+
+        for (KLLSketch s : new KLLSketch[]{sketch, merged}) {
+            assertEquals(SIZE, s.count());
+            assertTrue(s.retainedCount() < 3 * 200 + 100); // plus rounding and the minimum size of the levels
+            assertEquals(sortedData[0], s.quantile(0));
+            assertEquals(sortedData[SIZE - 1], s.quantile(1));
+
+            for (int percent = 1; percent < 100; percent++) {
+                final double q = percent / 100d;
+                final int exactRank = Arrays.binarySearch(sortedData, s.quantile(q)) + 1;
+                assertEquals(q, exactRank / (double) SIZE, 0.01);
+                assertEquals(q, s.rank(sortedData[(int) (q * SIZE)]), 0.01);
+            }
+        }
+        assertEquals(0d, sketch.rank(-1d));
+        assertEquals(1d, sketch.rank(Double.MAX_VALUE));
+
+        DataDescription exact = new DataDescription(sortedData, "exp");
+        DataDescription approx = merged.toDataDescription("exp");
+        assertTrue(TMath.equalsd(exact.count, approx.count));
+        assertTrue(TMath.equalsd(exact.min, approx.min));
+        assertTrue(TMath.equalsd(exact.max, approx.max));
+        assertEquals(exact.mean, approx.mean, 1e-9 * exact.mean);
+        assertEquals(exact.variance, approx.variance, 1e-9 * exact.variance);
+        assertEquals(exact.quartile1, approx.quartile1, 0.05 * exact.quartile1);
+        assertEquals(exact.median, approx.median, 0.05 * exact.median);
+        assertEquals(exact.quartile3, approx.quartile3, 0.05 * exact.quartile3);
+        assertTrue(Double.isNaN(approx.modeValue));
+
+        assertThrows(TephriumException.class, () -> new KLLSketch().quantile(0.5));
+        assertThrows(TephriumException.class, () -> sketch.quantile(1.5));
+        assertThrows(TephriumException.class, () -> sketch.add(Double.NaN));
+        assertThrows(TephriumException.class, () -> sketch.merge(new KLLSketch(100)));
+    }
+
+}
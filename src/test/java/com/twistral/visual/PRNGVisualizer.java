@@ -17,9 +17,7 @@ package com.twistral.visual;
 
 
 import com.twistral.tephrium.core.TephriumException;
-import com.twistral.tephrium.prng.JavaSplittableRandom;
-import com.twistral.tephrium.prng.SplitMix64Random;
-import com.twistral.tephrium.prng.TRandomGenerator;
+import com.twistral.tephrium.prng.*;
 
 import javax.swing.*;
 import java.awt.event.KeyEvent;
@@ -39,6 +37,9 @@ public class PRNGVisualizer {
     public static void main(String[] args)  {
         visualizeAlgorithm(SplitMix64Random.class);
         visualizeAlgorithm(JavaSplittableRandom.class);
+        visualizeAlgorithm(Xoshiro256StarStarRandom.class);
+        visualizeAlgorithm(Xoroshiro128PlusPlusRandom.class);
+        visualizeAlgorithm(PCG64Random.class);
     }
 
 